@@ -0,0 +1,56 @@
+package com.yandex.taskmanager.model;
+
+import java.time.LocalDateTime;
+
+public class CalendarUtilization {
+    private final LocalDateTime periodStart;
+    private final LocalDateTime periodEnd;
+    private final long bookedMinutes;
+    private final long freeMinutes;
+    private final int freeBlocks;
+
+    public CalendarUtilization(LocalDateTime periodStart, LocalDateTime periodEnd, long bookedMinutes,
+                               long freeMinutes, int freeBlocks) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.bookedMinutes = bookedMinutes;
+        this.freeMinutes = freeMinutes;
+        this.freeBlocks = freeBlocks;
+    }
+
+    public LocalDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDateTime getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public long getFreeMinutes() {
+        return freeMinutes;
+    }
+
+    public int getFreeBlocks() {
+        return freeBlocks;
+    }
+
+    public double getUtilization() {
+        long total = bookedMinutes + freeMinutes;
+        return total == 0 ? 0.0 : (double) bookedMinutes / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarUtilization{" +
+                "periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", bookedMinutes=" + bookedMinutes +
+                ", freeMinutes=" + freeMinutes +
+                ", freeBlocks=" + freeBlocks +
+                '}';
+    }
+}
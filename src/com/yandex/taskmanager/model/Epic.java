@@ -1,67 +1,185 @@
 package com.yandex.taskmanager.model;
 
+import com.yandex.taskmanager.util.IntArraySet;
+
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.stream.IntStream;
 
 public class Epic extends Task {
-    private final List<Integer> subTaskIds;
-    private LocalDateTime endTime;
+    public static final int NO_PARENT = 0;
+    private final IntArraySet subTaskIds;
+    private final IntArraySet childEpicIds;
+    private final int parentId;
+    private final int newSubTasks;
+    private final int inProgressSubTasks;
+    private final int doneSubTasks;
 
     public Epic(String name, String description) {
-        super(name, description);
-        this.subTaskIds = new ArrayList<>();
+        this(name, description, NO_PARENT);
+    }
+
+    public Epic(String name, String description, int parentId) {
+        this(0, name, description, parentId);
     }
 
     public Epic(int id, String name, String description) {
+        this(id, name, description, NO_PARENT);
+    }
+
+    public Epic(int id, String name, String description, int parentId) {
         super(id, name, description);
-        this.subTaskIds = new ArrayList<>();
+        this.subTaskIds = IntArraySet.empty();
+        this.childEpicIds = IntArraySet.empty();
+        this.parentId = parentId;
+        this.newSubTasks = 0;
+        this.inProgressSubTasks = 0;
+        this.doneSubTasks = 0;
     }
 
-    public Epic(Epic other, List<Integer> subTaskIds) {
-        super(other.id, other.name, other.description, other.status);
-        this.subTaskIds = new ArrayList<>(subTaskIds);
+    public Epic(Epic other, Epic current) {
+        this(other.id, other.name, other.description, current, current.status, current.startMinute,
+                current.endMinute, current.duration, current.subTaskIds, current.childEpicIds,
+                current.newSubTasks, current.inProgressSubTasks, current.doneSubTasks);
+    }
+
+    private Epic(Epic current, Status status, long startMinute, long endMinute, Duration duration,
+                 IntArraySet subTaskIds, IntArraySet childEpicIds, int newSubTasks, int inProgressSubTasks,
+                 int doneSubTasks) {
+        this(current.id, current.name, current.description, current, status, startMinute, endMinute, duration,
+                subTaskIds, childEpicIds, newSubTasks, inProgressSubTasks, doneSubTasks);
+    }
+
+    private Epic(int id, String name, String description, Epic current, Status status, long startMinute,
+                 long endMinute, Duration duration, IntArraySet subTaskIds, IntArraySet childEpicIds,
+                 int newSubTasks, int inProgressSubTasks, int doneSubTasks) {
+        super(id, name, description, status, startMinute, endMinute, duration, null);
+        this.subTaskIds = subTaskIds;
+        this.childEpicIds = childEpicIds;
+        this.parentId = current.parentId;
+        this.newSubTasks = newSubTasks;
+        this.inProgressSubTasks = inProgressSubTasks;
+        this.doneSubTasks = doneSubTasks;
     }
 
     public List<Integer> getSubTaskIdList() {
-        return new ArrayList<>(subTaskIds);
+        return subTaskIds.stream()
+                .boxed()
+                .toList();
+    }
+
+    public IntStream subTaskIds() {
+        return subTaskIds.stream();
+    }
+
+    public boolean containsSubTaskId(int subTaskId) {
+        return subTaskIds.contains(subTaskId);
+    }
+
+    public boolean hasSubTaskIds() {
+        return !subTaskIds.isEmpty();
+    }
+
+    public Epic withSubTaskId(int subTaskId) {
+        return withIds(subTaskIds.with(subTaskId), childEpicIds);
+    }
+
+    public Epic withoutSubTaskId(int subTaskId) {
+        return withIds(subTaskIds.without(subTaskId), childEpicIds);
+    }
+
+    public int getParentId() {
+        return parentId;
+    }
+
+    public boolean hasParent() {
+        return parentId != NO_PARENT;
+    }
+
+    public IntStream childEpicIds() {
+        return childEpicIds.stream();
+    }
+
+    public boolean hasChildEpicIds() {
+        return !childEpicIds.isEmpty();
+    }
+
+    public Epic withChildEpicId(int epicId) {
+        return withIds(subTaskIds, childEpicIds.with(epicId));
+    }
+
+    public Epic withoutChildEpicId(int epicId) {
+        return withIds(subTaskIds, childEpicIds.without(epicId));
+    }
+
+    public Epic withSubTaskStatus(Status removedStatus, Status addedStatus) {
+        return new Epic(this, status, startMinute, endMinute, duration, subTaskIds, childEpicIds,
+                newSubTasks + countDelta(Status.NEW, removedStatus, addedStatus),
+                inProgressSubTasks + countDelta(Status.IN_PROGRESS, removedStatus, addedStatus),
+                doneSubTasks + countDelta(Status.DONE, removedStatus, addedStatus));
+    }
+
+    public int getSubTaskCount(Status status) {
+        return switch (status) {
+            case NEW -> newSubTasks;
+            case IN_PROGRESS -> inProgressSubTasks;
+            case DONE -> doneSubTasks;
+        };
+    }
+
+    public int getSubTaskCount() {
+        return newSubTasks + inProgressSubTasks + doneSubTasks;
+    }
+
+    @Override
+    public Epic withStatus(Status status) {
+        if (status == this.status) {
+            return this;
+        }
+        return new Epic(this, status, startMinute, endMinute, duration, subTaskIds, childEpicIds, newSubTasks,
+                inProgressSubTasks, doneSubTasks);
     }
 
-    public void addSubTaskId(Integer subTaskId) {
-        subTaskIds.add(subTaskId);
+    public Epic withEpicTime(LocalDateTime startTime, Duration duration, LocalDateTime endTime) {
+        return withEpicTime(startTime != null ? toEpochMinute(startTime) : NO_TIME,
+                endTime != null ? toEpochMinute(endTime) : NO_TIME, duration);
     }
 
-    public void removeSubTaskId(Integer subTaskId) {
-        subTaskIds.remove(subTaskId);
+    public Epic withEpicTime(long startMinute, long endMinute, Duration duration) {
+        return new Epic(this, status, startMinute, endMinute, duration, subTaskIds, childEpicIds, newSubTasks,
+                inProgressSubTasks, doneSubTasks);
     }
 
-    public void setStatus(Status status) {
-        this.status = status;
+    private static int countDelta(Status counted, Status removedStatus, Status addedStatus) {
+        return (addedStatus == counted ? 1 : 0) - (removedStatus == counted ? 1 : 0);
     }
 
-    public void setEpicTime(LocalDateTime startTime, Duration duration, LocalDateTime endTime) {
-        this.startTime = startTime;
-        this.duration = duration;
-        this.endTime = endTime;
+    private Epic withIds(IntArraySet subTaskIds, IntArraySet childEpicIds) {
+        if (subTaskIds == this.subTaskIds && childEpicIds == this.childEpicIds) {
+            return this;
+        }
+        return new Epic(this, status, startMinute, endMinute, duration, subTaskIds, childEpicIds, newSubTasks,
+                inProgressSubTasks, doneSubTasks);
     }
 
     @Override
-    public LocalDateTime getEndTime() {
-        return this.endTime;
+    public TaskType getType() {
+        return TaskType.EPIC;
     }
 
     @Override
     public String toString() {
-        return String.format("%s,%s,%s,%s,%s,%s,%s,%s",
+        return String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s",
                 id,
                 TaskType.EPIC,
                 name,
                 status,
                 description,
-                "-",
-                startTime != null ? startTime.format(DATE_TIME_FORMATTER) : "null",
-                duration != null ? duration.toMinutes() : "null");
+                hasParent() ? parentId : "-",
+                getStartTime() != null ? getStartTime().format(DATE_TIME_FORMATTER) : "null",
+                duration != null ? duration.toMinutes() : "null",
+                "null");
     }
 }
 
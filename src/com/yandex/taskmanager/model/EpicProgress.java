@@ -0,0 +1,53 @@
+package com.yandex.taskmanager.model;
+
+public class EpicProgress {
+    private final int epicId;
+    private final int subTaskCount;
+    private final int doneSubTasks;
+    private final long remainingMinutes;
+    private final SubTask nextSubTask;
+
+    public EpicProgress(int epicId, int subTaskCount, int doneSubTasks, long remainingMinutes,
+                        SubTask nextSubTask) {
+        this.epicId = epicId;
+        this.subTaskCount = subTaskCount;
+        this.doneSubTasks = doneSubTasks;
+        this.remainingMinutes = remainingMinutes;
+        this.nextSubTask = nextSubTask;
+    }
+
+    public int getEpicId() {
+        return epicId;
+    }
+
+    public int getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public int getDoneSubTasks() {
+        return doneSubTasks;
+    }
+
+    public double getPercentDone() {
+        return subTaskCount == 0 ? 0.0 : doneSubTasks * 100.0 / subTaskCount;
+    }
+
+    public long getRemainingMinutes() {
+        return remainingMinutes;
+    }
+
+    public SubTask getNextSubTask() {
+        return nextSubTask;
+    }
+
+    @Override
+    public String toString() {
+        return "EpicProgress{" +
+                "epicId=" + epicId +
+                ", subTaskCount=" + subTaskCount +
+                ", doneSubTasks=" + doneSubTasks +
+                ", remainingMinutes=" + remainingMinutes +
+                ", nextSubTask=" + (nextSubTask != null ? nextSubTask.getId() : null) +
+                '}';
+    }
+}
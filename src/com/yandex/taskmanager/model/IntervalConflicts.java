@@ -0,0 +1,38 @@
+package com.yandex.taskmanager.model;
+
+import java.util.List;
+
+public class IntervalConflicts {
+    private final int proposalIndex;
+    private final List<Integer> taskIds;
+    private final List<Integer> proposalIndexes;
+    private final boolean schedulable;
+
+    public IntervalConflicts(int proposalIndex, List<Integer> taskIds, List<Integer> proposalIndexes,
+                             boolean schedulable) {
+        this.proposalIndex = proposalIndex;
+        this.taskIds = List.copyOf(taskIds);
+        this.proposalIndexes = List.copyOf(proposalIndexes);
+        this.schedulable = schedulable;
+    }
+
+    public int getProposalIndex() {
+        return proposalIndex;
+    }
+
+    public List<Integer> getTaskIds() {
+        return taskIds;
+    }
+
+    public List<Integer> getProposalIndexes() {
+        return proposalIndexes;
+    }
+
+    public boolean hasConflicts() {
+        return !taskIds.isEmpty() || !proposalIndexes.isEmpty();
+    }
+
+    public boolean isSchedulable() {
+        return schedulable;
+    }
+}
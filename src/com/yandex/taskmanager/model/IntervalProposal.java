@@ -0,0 +1,36 @@
+package com.yandex.taskmanager.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class IntervalProposal {
+    private final LocalDateTime startTime;
+    private final Duration duration;
+    private final String resource;
+
+    public IntervalProposal(LocalDateTime startTime, Duration duration) {
+        this(startTime, duration, null);
+    }
+
+    public IntervalProposal(LocalDateTime startTime, Duration duration, String resource) {
+        this.startTime = (startTime != null) ? startTime.withSecond(0).withNano(0) : null;
+        this.duration = duration;
+        this.resource = resource;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public LocalDateTime getEndTime() {
+        return startTime.plus(duration);
+    }
+
+    public String getResource() {
+        return resource;
+    }
+}
@@ -0,0 +1,140 @@
+package com.yandex.taskmanager.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecurringTask extends Task {
+    private final Duration repeatInterval;
+    private final int repeatCount;
+
+    public RecurringTask(String name, String description, LocalDateTime startTime, Duration duration,
+                         Duration repeatInterval, int repeatCount) {
+        this(name, description, startTime, duration, null, repeatInterval, repeatCount);
+    }
+
+    public RecurringTask(String name, String description, LocalDateTime startTime, Duration duration,
+                         String resource, Duration repeatInterval, int repeatCount) {
+        super(name, description, startTime, duration, resource);
+        this.repeatInterval = repeatInterval;
+        this.repeatCount = repeatCount;
+    }
+
+    public RecurringTask(int id, String name, String description, Status status, LocalDateTime startTime,
+                         Duration duration, String resource, Duration repeatInterval, int repeatCount) {
+        super(id, name, description, status, startTime, duration, resource);
+        this.repeatInterval = repeatInterval;
+        this.repeatCount = repeatCount;
+    }
+
+    @Override
+    public RecurringTask withStatus(Status status) {
+        return new RecurringTask(id, name, description, status, getStartTime(), duration, resource, repeatInterval,
+                repeatCount);
+    }
+
+    public Duration getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
+    public LocalDateTime getOccurrenceStart(int index) {
+        return ofEpochMinute(getOccurrenceStartMinute(index));
+    }
+
+    public long getOccurrenceStartMinute(int index) {
+        return startMinute + repeatInterval.toMinutes() * index;
+    }
+
+    public LocalDateTime getLastEndTime() {
+        return ofEpochMinute(getLastEndMinute());
+    }
+
+    public long getLastEndMinute() {
+        return getOccurrenceStartMinute(repeatCount - 1) + (endMinute - startMinute);
+    }
+
+    public int findOverlappingOccurrence(LocalDateTime from, LocalDateTime to) {
+        return findOverlappingOccurrence(toEpochMinute(from), Math.ceilDiv(to.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    public int findOverlappingOccurrence(long fromMinute, long toMinute) {
+        long length = endMinute - startMinute;
+        long interval = repeatInterval.toMinutes();
+
+        if (length == 0 || toMinute <= fromMinute) {
+            return -1;
+        }
+
+        long offset = fromMinute - startMinute;
+        long first = Math.max(0, Math.floorDiv(offset - length, interval) + 1);
+        long last = Math.min(repeatCount - 1L, Math.ceilDiv(toMinute - startMinute, interval) - 1);
+
+        return first <= last ? (int) first : -1;
+    }
+
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return findOverlappingOccurrence(from, to) >= 0;
+    }
+
+    public boolean overlaps(long fromMinute, long toMinute) {
+        return findOverlappingOccurrence(fromMinute, toMinute) >= 0;
+    }
+
+    public boolean overlaps(RecurringTask other) {
+        long otherLastEnd = other.getLastEndMinute();
+
+        if (getLastEndMinute() <= other.getStartMinute() || otherLastEnd <= startMinute) {
+            return false;
+        }
+
+        long length = endMinute - startMinute;
+        int index = Math.max(findOverlappingOccurrence(other.getStartMinute(), otherLastEnd), 0);
+        for (; index < repeatCount; index++) {
+            long occurrenceStart = getOccurrenceStartMinute(index);
+
+            if (occurrenceStart >= otherLastEnd) {
+                return false;
+            }
+
+            if (other.overlaps(occurrenceStart, occurrenceStart + length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Task> getOccurrences(LocalDateTime from, LocalDateTime to) {
+        List<Task> occurrences = new ArrayList<>();
+        long toMinute = Math.ceilDiv(to.toEpochSecond(ZoneOffset.UTC), 60);
+        int index = findOverlappingOccurrence(toEpochMinute(from), toMinute);
+
+        if (index < 0) {
+            return occurrences;
+        }
+
+        for (; index < repeatCount; index++) {
+            long occurrenceStart = getOccurrenceStartMinute(index);
+
+            if (occurrenceStart >= toMinute) {
+                break;
+            }
+            occurrences.add(new Task(id, name, description, status, ofEpochMinute(occurrenceStart), duration,
+                    resource));
+        }
+        return occurrences;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s,%s,%s",
+                super.toString(),
+                repeatInterval != null ? repeatInterval.toMinutes() : "null",
+                repeatCount);
+    }
+}
@@ -16,6 +16,12 @@ public class SubTask extends Task {
         this.epicId = epicId;
     }
 
+    public SubTask(String name, String description, int epicId, LocalDateTime startTime, Duration duration,
+                   String resource) {
+        super(name, description, startTime, duration, resource);
+        this.epicId = epicId;
+    }
+
     public SubTask(int id, String name, String description, int epicId, LocalDateTime startTime, Duration duration) {
         super(id, name, description, startTime, duration);
         this.epicId = epicId;
@@ -31,20 +37,42 @@ public class SubTask extends Task {
         this.epicId = epicId;
     }
 
+    public SubTask(int id, String name, String description, Status status, int epicId, LocalDateTime startTime,
+                   Duration duration, String resource) {
+        super(id, name, description, status, startTime, duration, resource);
+        this.epicId = epicId;
+    }
+
+    private SubTask(SubTask other, Status status, long startMinute, long endMinute, Duration duration) {
+        super(other.id, other.name, other.description, status, startMinute, endMinute, duration, other.resource);
+        this.epicId = other.epicId;
+    }
+
+    @Override
+    public SubTask withStatus(Status status) {
+        return new SubTask(this, status, startMinute, endMinute, duration);
+    }
+
     public int getEpicId() {
         return epicId;
     }
 
+    @Override
+    public TaskType getType() {
+        return TaskType.SUBTASK;
+    }
+
     @Override
     public String toString() {
-        return String.format("%s,%s,%s,%s,%s,%s,%s,%s",
+        return String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s",
                 id,
                 TaskType.SUBTASK,
                 name,
                 status,
                 description,
                 epicId,
-                startTime != null ? startTime.format(DATE_TIME_FORMATTER) : "null",
-                duration != null ? duration.toMinutes() : "null");
+                getStartTime() != null ? getStartTime().format(DATE_TIME_FORMATTER) : "null",
+                duration != null ? duration.toMinutes() : "null",
+                resource != null ? resource : "null");
     }
 }
@@ -3,57 +3,71 @@ package com.yandex.taskmanager.model;
 import java.util.Objects;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 public class Task {
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy HH:mm");
-    protected int id;
+    public static final long NO_TIME = Long.MIN_VALUE;
+    protected final int id;
     protected final String name;
     protected final String description;
-    protected Status status = Status.NEW;
-    protected LocalDateTime startTime;
-    protected Duration duration;
+    protected final Status status;
+    protected final long startMinute;
+    protected final long endMinute;
+    protected final Duration duration;
+    protected final String resource;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
 
     public Task(String name, String description) {
-        this.name = name;
-        this.description = description;
+        this(0, name, description, Status.NEW);
     }
 
     public Task(String name, String description, LocalDateTime startTime, Duration duration) {
-        this.name = name;
-        this.description = description;
-        this.startTime = (startTime != null) ? startTime.withSecond(0).withNano(0) : null;
-        this.duration = duration;
+        this(0, name, description, Status.NEW, startTime, duration);
+    }
+
+    public Task(String name, String description, LocalDateTime startTime, Duration duration, String resource) {
+        this(0, name, description, Status.NEW, startTime, duration, resource);
     }
 
     public Task(int id, String name, String description) {
-        this.id = id;
-        this.name = name;
-        this.description = description;
+        this(id, name, description, Status.NEW);
     }
 
     public Task(int id, String name, String description, LocalDateTime startTime, Duration duration) {
-        this.id = id;
-        this.name = name;
-        this.description = description;
-        this.startTime = (startTime != null) ? startTime.withSecond(0).withNano(0) : null;
-        this.duration = duration;
+        this(id, name, description, Status.NEW, startTime, duration);
     }
 
     public Task(int id, String name, String description, Status status) {
-        this.id = id;
-        this.name = name;
-        this.description = description;
-        this.status = status;
+        this(id, name, description, status, null, null);
     }
 
     public Task(int id, String name, String description, Status status, LocalDateTime startTime, Duration duration) {
+        this(id, name, description, status, startTime, duration, null);
+    }
+
+    public Task(int id, String name, String description, Status status, LocalDateTime startTime, Duration duration,
+                String resource) {
+        this(id, name, description, status, startMinuteOf(startTime), endMinuteOf(startTime, duration), duration,
+                resource);
+    }
+
+    protected Task(int id, String name, String description, Status status, long startMinute, long endMinute,
+                   Duration duration, String resource) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.status = status;
-        this.startTime = (startTime != null) ? startTime.withSecond(0).withNano(0) : null;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
         this.duration = duration;
+        this.resource = resource;
+    }
+
+    public Task withStatus(Status status) {
+        return new Task(id, name, description, status, startMinute, endMinute, duration, resource);
     }
 
     public String getName() {
@@ -73,6 +87,9 @@ public class Task {
     }
 
     public LocalDateTime getStartTime() {
+        if (startTime == null && startMinute != NO_TIME) {
+            startTime = ofEpochMinute(startMinute);
+        }
         return startTime;
     }
 
@@ -80,11 +97,44 @@ public class Task {
         return duration;
     }
 
+    public String getResource() {
+        return resource;
+    }
+
     public LocalDateTime getEndTime() {
-        if (startTime == null || duration == null) {
-            return null;
+        if (endTime == null && endMinute != NO_TIME) {
+            endTime = ofEpochMinute(endMinute);
         }
-        return startTime.plus(duration);
+        return endTime;
+    }
+
+    public long getStartMinute() {
+        return startMinute;
+    }
+
+    public long getEndMinute() {
+        return endMinute;
+    }
+
+    public boolean hasTime() {
+        return endMinute != NO_TIME;
+    }
+
+    protected static long startMinuteOf(LocalDateTime startTime) {
+        return startTime != null ? toEpochMinute(startTime) : NO_TIME;
+    }
+
+    protected static long endMinuteOf(LocalDateTime startTime, Duration duration) {
+        return startTime != null && duration != null
+                ? toEpochMinute(startTime) + Math.ceilDiv(duration.getSeconds(), 60) : NO_TIME;
+    }
+
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public static LocalDateTime ofEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
     }
 
     @Override
@@ -99,16 +149,21 @@ public class Task {
         return Objects.hashCode(id);
     }
 
+    public TaskType getType() {
+        return TaskType.TASK;
+    }
+
     @Override
     public String toString() {
-        return String.format("%s,%s,%s,%s,%s,%s,%s,%s",
+        return String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s",
                 id,
                 TaskType.TASK,
                 name,
                 status,
                 description,
                 "-",
-                startTime != null ? startTime.format(DATE_TIME_FORMATTER) : "null",
-                duration != null ? duration.toMinutes() : "null");
+                getStartTime() != null ? getStartTime().format(DATE_TIME_FORMATTER) : "null",
+                duration != null ? duration.toMinutes() : "null",
+                resource != null ? resource : "null");
     }
 }
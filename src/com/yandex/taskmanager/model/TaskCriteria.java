@@ -0,0 +1,19 @@
+package com.yandex.taskmanager.model;
+
+public class TaskCriteria {
+    private final Status status;
+    private final TaskType type;
+
+    public TaskCriteria(Status status, TaskType type) {
+        this.status = status;
+        this.type = type;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public TaskType getType() {
+        return type;
+    }
+}
@@ -0,0 +1,27 @@
+package com.yandex.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AtomicIdAllocator implements IdAllocator {
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    @Override
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        return lastId.get();
+    }
+
+    @Override
+    public void advanceTo(int id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public void reset() {
+        lastId.set(0);
+    }
+}
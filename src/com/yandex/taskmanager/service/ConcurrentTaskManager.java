@@ -0,0 +1,263 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.CalendarUtilization;
+import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
+import com.yandex.taskmanager.model.IntervalConflicts;
+import com.yandex.taskmanager.model.IntervalProposal;
+import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager delegate;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private final boolean publishesSnapshot;
+
+    public ConcurrentTaskManager(TaskManager delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Task Manager provided to ConcurrentTaskManager is null.");
+        }
+
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.delegate = delegate;
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+        // these managers publish immutable snapshots through volatile fields, so snapshot reads skip the lock
+        this.publishesSnapshot = delegate instanceof InMemoryTaskManager || delegate instanceof ShardedTaskManager;
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return write(() -> delegate.createTask(task));
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        return write(() -> delegate.createEpic(epic));
+    }
+
+    @Override
+    public SubTask createSubTask(SubTask subTask) {
+        return write(() -> delegate.createSubTask(subTask));
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return read(() -> delegate.getAllTasks());
+    }
+
+    @Override
+    public TreeSet<Task> getPrioritizedTasks() {
+        return read(() -> delegate.getPrioritizedTasks());
+    }
+
+    @Override
+    public NavigableSet<Task> getPrioritized(LocalDateTime from, LocalDateTime to) {
+        return read(() -> delegate.getPrioritized(from, to));
+    }
+
+    @Override
+    public List<Task> nextAfter(LocalDateTime time, int limit) {
+        return read(() -> delegate.nextAfter(time, limit));
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return read(() -> delegate.getTasks());
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return read(() -> delegate.getEpics());
+    }
+
+    @Override
+    public List<SubTask> getSubTasks() {
+        return read(() -> delegate.getSubTasks());
+    }
+
+    @Override
+    public List<Task> findTasks(TaskCriteria criteria) {
+        return publishesSnapshot ? delegate.findTasks(criteria) : read(() -> delegate.findTasks(criteria));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(() -> delegate.getHistory());
+    }
+
+    @Override
+    public void clearHistory() {
+        write(() -> delegate.clearHistory());
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        write(() -> delegate.deleteAllTasks());
+    }
+
+    @Override
+    public Optional<Task> findAnyTaskById(int id) {
+        return read(() -> delegate.findAnyTaskById(id));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(() -> delegate.getTaskById(id));
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return read(() -> delegate.getEpicById(id));
+    }
+
+    @Override
+    public SubTask getSubTaskById(int id) {
+        return read(() -> delegate.getSubTaskById(id));
+    }
+
+    @Override
+    public List<SubTask> getEpicSubTasks(int id) {
+        return read(() -> delegate.getEpicSubTasks(id));
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int id, LocalDateTime now) {
+        return read(() -> delegate.getEpicProgress(id, now));
+    }
+
+    @Override
+    public List<EpicProgress> getEpicsProgress(LocalDateTime now) {
+        return read(() -> delegate.getEpicsProgress(now));
+    }
+
+    @Override
+    public void deleteAnyTaskById(int id) {
+        write(() -> delegate.deleteAnyTaskById(id));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(() -> delegate.deleteTask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(() -> delegate.deleteEpic(id));
+    }
+
+    @Override
+    public void deleteSubTask(int id) {
+        write(() -> delegate.deleteSubTask(id));
+    }
+
+    @Override
+    public void updateTask(Task newTask) {
+        write(() -> delegate.updateTask(newTask));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> delegate.updateEpic(epic));
+    }
+
+    @Override
+    public void updateSubTask(SubTask subTask) {
+        write(() -> delegate.updateSubTask(subTask));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findEarliestFreeSlot(Duration duration, LocalDateTime notBefore) {
+        return read(() -> delegate.findEarliestFreeSlot(duration, notBefore));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(Duration duration, LocalDateTime notBefore, int limit) {
+        return read(() -> delegate.findFreeSlots(duration, notBefore, limit));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(String resource, Duration duration, LocalDateTime notBefore, int limit) {
+        return read(() -> delegate.findFreeSlots(resource, duration, notBefore, limit));
+    }
+
+    @Override
+    public List<Task> getRecurringOccurrences(LocalDateTime from, LocalDateTime to) {
+        return read(() -> delegate.getRecurringOccurrences(from, to));
+    }
+
+    @Override
+    public List<CalendarUtilization> getCalendarUtilization(String resource, LocalDateTime from, LocalDateTime to,
+                                                            ChronoUnit period) {
+        return read(() -> delegate.getCalendarUtilization(resource, from, to, period));
+    }
+
+    @Override
+    public List<IntervalConflicts> validateIntervals(List<IntervalProposal> proposals) {
+        return read(() -> delegate.validateIntervals(proposals));
+    }
+
+    @Override
+    public List<Task> autoSchedule(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                                   Comparator<? super Task> order) {
+        return write(() -> delegate.autoSchedule(ids, duration, notBefore, order));
+    }
+
+    @Override
+    public List<Task> autoScheduleEpic(int epicId, Duration duration, LocalDateTime notBefore,
+                                       Comparator<? super Task> order) {
+        return write(() -> delegate.autoScheduleEpic(epicId, duration, notBefore, order));
+    }
+
+    @Override
+    public TaskSnapshot snapshot() {
+        return publishesSnapshot ? delegate.snapshot() : read(() -> delegate.snapshot());
+    }
+
+    @Override
+    public int getIdCounter() {
+        return read(() -> delegate.getIdCounter());
+    }
+
+    private <R> R read(Supplier<R> action) {
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <R> R write(Supplier<R> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class EpicAggregate {
+    private final TreeMap<Long, Integer> startMinutes = new TreeMap<>();
+    private final TreeMap<Long, Integer> endMinutes = new TreeMap<>();
+    private final NavigableSet<Task> pendingSubTasks = new TreeSet<>(InMemoryTaskManager.PRIORITY_ORDER);
+    private long durationSeconds;
+    private long remainingSeconds;
+    private int subTaskCount;
+    private int doneSubTasks;
+
+    public void add(Task subTask) {
+        subTaskCount++;
+        if (subTask.getStatus() == Status.DONE) {
+            doneSubTasks++;
+        }
+
+        if (!subTask.hasTime()) {
+            return;
+        }
+
+        startMinutes.merge(subTask.getStartMinute(), 1, Integer::sum);
+        endMinutes.merge(subTask.getEndMinute(), 1, Integer::sum);
+        durationSeconds += subTask.getDuration().getSeconds();
+
+        if (subTask.getStatus() != Status.DONE) {
+            pendingSubTasks.add(subTask);
+            remainingSeconds += subTask.getDuration().getSeconds();
+        }
+    }
+
+    public void remove(Task subTask) {
+        subTaskCount--;
+        if (subTask.getStatus() == Status.DONE) {
+            doneSubTasks--;
+        }
+
+        if (!subTask.hasTime()) {
+            return;
+        }
+
+        decrement(startMinutes, subTask.getStartMinute());
+        decrement(endMinutes, subTask.getEndMinute());
+        durationSeconds -= subTask.getDuration().getSeconds();
+
+        if (pendingSubTasks.remove(subTask)) {
+            remainingSeconds -= subTask.getDuration().getSeconds();
+        }
+    }
+
+    public boolean hasTime() {
+        return !startMinutes.isEmpty();
+    }
+
+    public long getStartMinute() {
+        return startMinutes.isEmpty() ? Task.NO_TIME : startMinutes.firstKey();
+    }
+
+    public long getEndMinute() {
+        return endMinutes.isEmpty() ? Task.NO_TIME : endMinutes.lastKey();
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(durationSeconds);
+    }
+
+    public int getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public int getDoneSubTasks() {
+        return doneSubTasks;
+    }
+
+    public long getRemainingMinutes() {
+        return Math.ceilDiv(remainingSeconds, 60);
+    }
+
+    public Optional<Task> nextPendingSubTask(LocalDateTime notBefore) {
+        Task probe = new Task(Integer.MIN_VALUE, "", "", Status.NEW, notBefore, Duration.ZERO);
+        return Optional.ofNullable(pendingSubTasks.ceiling(probe));
+    }
+
+    private static void decrement(TreeMap<Long, Integer> multiset, long key) {
+        multiset.computeIfPresent(key, (minute, count) -> count > 1 ? count - 1 : null);
+    }
+}
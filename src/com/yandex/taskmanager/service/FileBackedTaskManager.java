@@ -1,6 +1,7 @@
 package com.yandex.taskmanager.service;
 
 import com.yandex.taskmanager.exceptions.ManagerLoadException;
+import com.yandex.taskmanager.model.RecurringTask;
 import com.yandex.taskmanager.model.Task;
 import com.yandex.taskmanager.model.Epic;
 import com.yandex.taskmanager.model.SubTask;
@@ -16,18 +17,35 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 
 import java.io.File;
 import java.io.FileWriter;
 
+import java.util.function.Supplier;
+
 import java.nio.file.Files;
 import java.nio.charset.StandardCharsets;
 
 public class FileBackedTaskManager extends InMemoryTaskManager implements TaskManager {
     private final File saveFile;
-    private static final String HEADER = "id,type,name,status,description,epic,startTime,duration,endTime";
+    private static final String HEADER = "id,type,name,status,description,epic,startTime,duration,resource,repeatInterval,repeatCount";
+    private static final String FOOTER_PREFIX = "idCounter,";
 
     public FileBackedTaskManager(File saveFile) throws IOException {
+        this(saveFile, InMemoryTaskManager::createDefaultCalendar);
+    }
+
+    public FileBackedTaskManager(File saveFile, Supplier<TaskCalendar> calendarFactory) throws IOException {
+        this(saveFile, calendarFactory, new AtomicIdAllocator());
+    }
+
+    public FileBackedTaskManager(File saveFile, Supplier<TaskCalendar> calendarFactory, IdAllocator idAllocator)
+            throws IOException {
+        super(calendarFactory, idAllocator);
+
         if (saveFile == null) {
             throw new IllegalArgumentException("File provided to Task Manager is null.");
         }
@@ -109,17 +127,36 @@ public class FileBackedTaskManager extends InMemoryTaskManager implements TaskMa
         save();
     }
 
+    @Override
+    public List<Task> autoSchedule(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                                   Comparator<? super Task> order) {
+        List<Task> scheduled = super.autoSchedule(ids, duration, notBefore, order);
+        save();
+        return scheduled;
+    }
+
+    @Override
+    public List<Task> autoScheduleEpic(int epicId, Duration duration, LocalDateTime notBefore,
+                                       Comparator<? super Task> order) {
+        List<Task> scheduled = super.autoScheduleEpic(epicId, duration, notBefore, order);
+        save();
+        return scheduled;
+    }
+
     private void save() {
-        List<Task> managerMemory = getAllTasks();
+        Iterator<Task> managerMemory = snapshot().stream().iterator();
 
         try (FileWriter fileWriter = new FileWriter(saveFile, StandardCharsets.UTF_8)) {
             fileWriter.write(HEADER);
             fileWriter.write(System.lineSeparator());
 
-            for (Task task : managerMemory) {
-                fileWriter.write(task.toString());
+            while (managerMemory.hasNext()) {
+                fileWriter.write(managerMemory.next().toString());
                 fileWriter.write(System.lineSeparator());
             }
+
+            fileWriter.write(FOOTER_PREFIX + getIdCounter());
+            fileWriter.write(System.lineSeparator());
         } catch (FileNotFoundException ex) {
             throw new ManagerSaveException(("TaskManager save file not found at path: " + saveFile.toPath()), ex);
         } catch (IOException ex) {
@@ -129,56 +166,94 @@ public class FileBackedTaskManager extends InMemoryTaskManager implements TaskMa
     }
 
     public static FileBackedTaskManager loadFromFile(File file) {
+        return loadFromFile(file, InMemoryTaskManager::createDefaultCalendar);
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, Supplier<TaskCalendar> calendarFactory) {
+        return loadFromFile(file, calendarFactory, new AtomicIdAllocator());
+    }
+
+    public static FileBackedTaskManager loadFromFile(File file, Supplier<TaskCalendar> calendarFactory,
+                                                     IdAllocator idAllocator) {
         final FileBackedTaskManager taskManager;
         List<String> tasksString;
-        int idCounter = 0;
+        Integer savedIdCounter = null;
 
         try {
-            taskManager = new FileBackedTaskManager(file);
+            taskManager = new FileBackedTaskManager(file, calendarFactory, idAllocator);
             tasksString = readFromFile(file);
         } catch (IOException ex) {
             throw new ManagerLoadException(("I/O error while accessing Task Manager load file at path: "
                     + file.toPath()), ex);
         }
 
+        if (!tasksString.isEmpty() && tasksString.getLast().startsWith(FOOTER_PREFIX)) {
+            savedIdCounter = Integer.parseInt(tasksString.removeLast().substring(FOOTER_PREFIX.length()));
+        }
+
+        List<Task> restored = new ArrayList<>();
         for (String value : tasksString) {
-            Task task = fromString(value);
-            taskManager.restoreTasks(task);
-            if (task.getId() > idCounter) {
-                idCounter = task.getId();
-            }
+            restored.add(fromString(value));
         }
 
-        taskManager.idCounter = idCounter;
+        restored.stream()
+                .filter(task -> task.getType() != TaskType.SUBTASK)
+                .forEach(taskManager::restoreTasks);
+        restored.stream()
+                .filter(task -> task.getType() == TaskType.EPIC)
+                .forEach(epic -> taskManager.linkToParentEpic((Epic) epic));
+        restored.stream()
+                .filter(task -> task.getType() == TaskType.SUBTASK)
+                .forEach(taskManager::restoreTasks);
+
+        if (savedIdCounter != null) {
+            taskManager.idAllocator.advanceTo(savedIdCounter);
+        } else {
+            restored.stream()
+                    .mapToInt(Task::getId)
+                    .max()
+                    .ifPresent(taskManager.idAllocator::advanceTo);
+        }
 
+        taskManager.publishSnapshot();
         return taskManager;
     }
 
     private void restoreTasks(Task task) {
         if (task instanceof Epic epic) {
-            epics.put(epic.getId(), epic);
+            taskIndex = taskIndex.put(epic.getId(), epic);
         } else if (task instanceof SubTask subTask) {
-            subTasks.put(subTask.getId(), subTask);
+            taskIndex = taskIndex.put(subTask.getId(), subTask);
 
-            if (subTask.getEndTime() != null) {
+            if (subTask.hasTime()) {
+                checkRestoredIntervalFree(subTask);
                 prioritizedTasks.add(subTask);
                 markCalendarInterval(subTask);
             }
 
-            Epic epic = epics.get(subTask.getEpicId());
-            epic.addSubTaskId(subTask.getId());
-            updateEpicStatus(epic.getId());
-            setEpicTime(epic.getId());
+            storeEpic(findEpic(subTask.getEpicId()).withSubTaskId(subTask.getId()));
+            rollUpSubTask(subTask.getEpicId(), null, subTask);
         } else {
-            tasks.put(task.getId(), task);
+            taskIndex = taskIndex.put(task.getId(), task);
 
-            if (task.getEndTime() != null) {
+            if (task instanceof RecurringTask recurringTask) {
+                checkRestoredIntervalFree(recurringTask);
+                calendars.addRecurrence(recurringTask);
+            } else if (task.hasTime()) {
+                checkRestoredIntervalFree(task);
                 prioritizedTasks.add(task);
                 markCalendarInterval(task);
             }
         }
     }
 
+    private void checkRestoredIntervalFree(Task task) {
+        if (!isCalendarIntervalFree(task)) {
+            throw new ManagerLoadException("Saved Task with id: " + task.getId()
+                    + " overlaps another saved Task, load file is inconsistent.");
+        }
+    }
+
     private static List<String> readFromFile(File file) throws IOException {
         List<String> tasksString = new ArrayList<>();
         String dataStream;
@@ -213,13 +288,25 @@ public class FileBackedTaskManager extends InMemoryTaskManager implements TaskMa
                 ? LocalDateTime.parse(taskFields[6], Task.DATE_TIME_FORMATTER) : null;
         Duration duration = !"null".equals(taskFields[7])
                 ? Duration.ofMinutes(Long.parseLong(taskFields[7])) : null;
+        String resource = taskFields.length > 8 && !"null".equals(taskFields[8]) ? taskFields[8] : null;
 
         return switch (type) {
-            case TASK -> new Task(id, name, description, status, startTime, duration);
-            case EPIC -> new Epic(id, name, description);
+            case TASK -> {
+                if (taskFields.length > 10 && !"null".equals(taskFields[9])) {
+                    Duration repeatInterval = Duration.ofMinutes(Long.parseLong(taskFields[9]));
+                    int repeatCount = Integer.parseInt(taskFields[10]);
+                    yield new RecurringTask(id, name, description, status, startTime, duration, resource,
+                            repeatInterval, repeatCount);
+                }
+                yield new Task(id, name, description, status, startTime, duration, resource);
+            }
+            case EPIC -> {
+                int parentId = !"-".equals(taskFields[5]) ? Integer.parseInt(taskFields[5]) : Epic.NO_PARENT;
+                yield new Epic(id, name, description, parentId);
+            }
             case SUBTASK -> {
                 int epicId = Integer.parseInt(taskFields[5]);
-                yield new SubTask(id, name, description, status, epicId, startTime, duration);
+                yield new SubTask(id, name, description, status, epicId, startTime, duration, resource);
             }
         };
     }
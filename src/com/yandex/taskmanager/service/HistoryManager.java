@@ -7,6 +7,8 @@ import java.util.List;
 public interface HistoryManager {
     void add(Task task);
 
+    void replace(Task task);
+
     List<Task> getHistory();
 
     void clearHistory();
@@ -0,0 +1,11 @@
+package com.yandex.taskmanager.service;
+
+public interface IdAllocator {
+    int nextId();
+
+    int getHighWaterMark();
+
+    void advanceTo(int id);
+
+    void reset();
+}
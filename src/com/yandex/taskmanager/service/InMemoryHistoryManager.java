@@ -1,31 +1,42 @@
 package com.yandex.taskmanager.service;
 
 import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.util.IntHashMap;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
 
 public class InMemoryHistoryManager implements HistoryManager {
     private Node<Task> head;
     private Node<Task> tail;
-    private final Map<Integer, Node<Task>> nodesMap = new HashMap<>();
+    private final IntHashMap<Node<Task>> nodesMap = new IntHashMap<>();
 
-    public void add(Task task) {
+    public synchronized void add(Task task) {
         if (task == null) {
             return;
         }
 
-        if (nodesMap.containsKey(task.getId())) {
-            removeNode(nodesMap.get(task.getId()));
+        Node<Task> node = nodesMap.get(task.getId());
+        if (node != null) {
+            removeNode(node);
         }
 
         linkLast(task);
         nodesMap.put(task.getId(), tail);
     }
 
-    public List<Task> getHistory() {
+    public synchronized void replace(Task task) {
+        if (task == null) {
+            return;
+        }
+
+        Node<Task> node = nodesMap.get(task.getId());
+        if (node != null) {
+            node.data = task;
+        }
+    }
+
+    public synchronized List<Task> getHistory() {
         List<Task> historyList = new ArrayList<>();
 
         Node<Task> currentNode = head;
@@ -36,7 +47,7 @@ public class InMemoryHistoryManager implements HistoryManager {
         return historyList;
     }
 
-    public void remove(int id) {
+    public synchronized void remove(int id) {
         Node<Task> node = nodesMap.remove(id);
 
         if (node != null) {
@@ -44,7 +55,7 @@ public class InMemoryHistoryManager implements HistoryManager {
         }
     }
 
-    public void clearHistory() {
+    public synchronized void clearHistory() {
         head = null;
         tail = null;
         nodesMap.clear();
@@ -1,44 +1,87 @@
 package com.yandex.taskmanager.service;
 
 import com.yandex.taskmanager.exceptions.NotFoundException;
+import com.yandex.taskmanager.model.CalendarUtilization;
 import com.yandex.taskmanager.model.Task;
 import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
+import com.yandex.taskmanager.model.IntervalConflicts;
+import com.yandex.taskmanager.model.IntervalProposal;
+import com.yandex.taskmanager.model.RecurringTask;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.TaskCriteria;
+import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.util.IntHashMap;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.SortedMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.TreeSet;
-import java.util.TreeMap;
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.Duration;
-
-import java.util.function.Function;
+import java.time.DayOfWeek;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 
 public class InMemoryTaskManager implements TaskManager {
-    private static final int CALENDAR_INTERVAL = 15;
-    private static final int CALENDAR_YEARS = 1;
-    protected int idCounter = 0;
-    protected final HashMap<Integer, Task> tasks = new HashMap<>();
-    protected final HashMap<Integer, Epic> epics = new HashMap<>();
-    protected final HashMap<Integer, SubTask> subTasks = new HashMap<>();
-    protected final TreeSet<Task> prioritizedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
-    protected final TreeMap<LocalDateTime, Boolean> calendar = initializeCalendar();
-    private final HistoryManager historyManager = Managers.getDefaultHistoryManager();
+    protected static final int CALENDAR_INTERVAL = 15;
+    protected final IdAllocator idAllocator;
+    protected TaskIndex taskIndex = TaskIndex.empty();
+    protected static final Comparator<Task> PRIORITY_ORDER = Comparator.comparingLong(Task::getStartMinute)
+            .thenComparingInt(Task::getId);
+    protected final NavigableSet<Task> prioritizedTasks;
+    protected final IntHashMap<EpicAggregate> epicAggregates = new IntHashMap<>();
+    protected final ResourceCalendars calendars;
+    private final HistoryManager historyManager;
+    private volatile TaskSnapshot snapshot = new TaskSnapshot(0, TaskIndex.empty());
+
+    public InMemoryTaskManager() {
+        this(InMemoryTaskManager::createDefaultCalendar);
+    }
+
+    public InMemoryTaskManager(Supplier<TaskCalendar> calendarFactory) {
+        this(calendarFactory, new AtomicIdAllocator());
+    }
+
+    public InMemoryTaskManager(Supplier<TaskCalendar> calendarFactory, IdAllocator idAllocator) {
+        this(new ResourceCalendars(calendarFactory), new ConcurrentSkipListSet<>(PRIORITY_ORDER),
+                Managers.getDefaultHistoryManager(), idAllocator);
+    }
+
+    InMemoryTaskManager(ResourceCalendars calendars, NavigableSet<Task> prioritizedTasks,
+                        HistoryManager historyManager, IdAllocator idAllocator) {
+        if (idAllocator == null) {
+            throw new IllegalArgumentException("Id allocator provided to Task Manager is null.");
+        }
+
+        this.calendars = calendars;
+        this.prioritizedTasks = prioritizedTasks;
+        this.historyManager = historyManager;
+        this.idAllocator = idAllocator;
+    }
 
     @Override
     public Task createTask(Task task) {
-        if (task instanceof Epic || task instanceof SubTask) {
+        checkTaskOkToAdd(task);
+
+        if (task.getType() != TaskType.TASK) {
             throw new IllegalArgumentException("Epics and SubTasks must be added using their own methods.");
         }
-
-        checkTaskOkToAdd(task);
         return addToTasks(task);
     }
 
@@ -46,10 +89,15 @@ public class InMemoryTaskManager implements TaskManager {
     public Epic createEpic(Epic epic) {
         checkTaskOkToAdd(epic);
 
-        if (!epic.getSubTaskIdList().isEmpty()) {
+        if (epic.hasSubTaskIds() || epic.hasChildEpicIds()) {
             throw new IllegalArgumentException("Cannot add Epic with non-empty subTaskIdList. Only new Epics " +
                     "are allowed.");
         }
+
+        if (epic.hasParent() && findEpic(epic.getParentId()) == null) {
+            throw new NotFoundException("Cannot add Epic. Parent Epic with ID: " + epic.getParentId()
+                    + " not found in TaskManager.");
+        }
         return addToEpics(epic);
     }
 
@@ -57,7 +105,7 @@ public class InMemoryTaskManager implements TaskManager {
     public SubTask createSubTask(SubTask subTask) {
         checkTaskOkToAdd(subTask);
 
-        Epic epic = epics.get(subTask.getEpicId());
+        Epic epic = findEpic(subTask.getEpicId());
         if (epic == null) {
             throw new NotFoundException("Cannot add SubTask. Epic with ID: " + subTask.getEpicId()
                     + " not found in TaskManager.");
@@ -67,10 +115,9 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public List<Task> getAllTasks() {
-        List<Task> allTasks = new ArrayList<>();
-        allTasks.addAll(tasks.values());
-        allTasks.addAll(epics.values());
-        allTasks.addAll(subTasks.values());
+        List<Task> allTasks = getTasks();
+        allTasks.addAll(getEpics());
+        allTasks.addAll(getSubTasks());
         return allTasks;
     }
 
@@ -78,19 +125,63 @@ public class InMemoryTaskManager implements TaskManager {
         return new TreeSet<>(prioritizedTasks);
     }
 
+    @Override
+    public NavigableSet<Task> getPrioritized(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Prioritized range end is before range start.");
+        }
+
+        NavigableSet<Task> view = prioritizedTasks;
+        if (from != null) {
+            view = view.tailSet(createProbe(from), true);
+        }
+        if (to != null) {
+            view = view.headSet(createProbe(to), false);
+        }
+        return Collections.unmodifiableNavigableSet(view);
+    }
+
+    @Override
+    public List<Task> nextAfter(LocalDateTime time, int limit) {
+        if (time == null) {
+            throw new IllegalArgumentException("Search start time must not be null.");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of requested tasks must be positive.");
+        }
+
+        List<Task> result = new ArrayList<>();
+        for (Task task : prioritizedTasks.tailSet(createProbe(time), true)) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(task);
+        }
+        return result;
+    }
+
     @Override
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks.values());
+        return tasksOfType(TaskType.TASK, Task.class);
     }
 
     @Override
     public List<Epic> getEpics() {
-        return new ArrayList<>(epics.values());
+        return tasksOfType(TaskType.EPIC, Epic.class);
     }
 
     @Override
     public List<SubTask> getSubTasks() {
-        return new ArrayList<>(subTasks.values());
+        return tasksOfType(TaskType.SUBTASK, SubTask.class);
+    }
+
+    @Override
+    public List<Task> findTasks(TaskCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria must not be null.");
+        }
+        return snapshot.find(criteria).toList();
     }
 
     @Override
@@ -105,41 +196,31 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public void deleteAllTasks() {
-        tasks.clear();
-        epics.clear();
-        subTasks.clear();
         historyManager.clearHistory();
         prioritizedTasks.clear();
-        calendar.replaceAll((k, v) -> Boolean.TRUE);
-        idCounter = 0;
+        calendars.clear();
+        clearTasks();
+    }
+
+    void clearTasks() {
+        taskIndex = TaskIndex.empty();
+        epicAggregates.clear();
+        idAllocator.reset();
+        publishSnapshot();
     }
 
     @Override
     public Optional<Task> findAnyTaskById(int id) {
-        Task task = tasks.get(id);
+        Task task = taskIndex.get(id);
         if (task != null) {
             historyManager.add(task);
-            return Optional.of(task);
-        }
-
-        Epic epic = epics.get(id);
-        if (epic != null) {
-            historyManager.add(epic);
-            return Optional.of(epic);
-        }
-
-        SubTask subTask = subTasks.get(id);
-        if (subTask != null) {
-            historyManager.add(subTask);
-            return Optional.of(subTask);
         }
-
-        return Optional.empty();
+        return Optional.ofNullable(task);
     }
 
     @Override
     public Task getTaskById(int id) {
-        Task task = tasks.get(id);
+        Task task = findTask(id);
         if (task != null) {
             historyManager.add(task);
             return task;
@@ -150,7 +231,7 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Epic getEpicById(int id) {
-        Epic epic = epics.get(id);
+        Epic epic = findEpic(id);
         if (epic != null) {
             historyManager.add(epic);
             return epic;
@@ -161,7 +242,7 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public SubTask getSubTaskById(int id) {
-        SubTask subTask = subTasks.get(id);
+        SubTask subTask = findSubTask(id);
         if (subTask != null) {
             historyManager.add(subTask);
             return subTask;
@@ -172,91 +253,139 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public List<SubTask> getEpicSubTasks(int id) {
-        Epic epic = epics.get(id);
+        Epic epic = findEpic(id);
+
+        if (epic == null) {
+            throw new NotFoundException("Epic with id: " + id + " not found in TaskManager.");
+        }
+
+        return epic.subTaskIds()
+                .mapToObj(this::findSubTask)
+                .toList();
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int id, LocalDateTime now) {
+        Epic epic = findEpic(id);
 
         if (epic == null) {
             throw new NotFoundException("Epic with id: " + id + " not found in TaskManager.");
         }
+        return createEpicProgress(epic, now);
+    }
 
-        return epic.getSubTaskIdList().stream()
-                .map(subTasks::get)
+    @Override
+    public List<EpicProgress> getEpicsProgress(LocalDateTime now) {
+        return getEpics().stream()
+                .map(epic -> createEpicProgress(epic, now))
                 .toList();
     }
 
     @Override
     public void deleteAnyTaskById(int id) {
-        if (tasks.containsKey(id)) {
-            deleteTask(id);
-        } else if (epics.containsKey(id)) {
-            deleteEpic(id);
-        } else if (subTasks.containsKey(id)) {
-            deleteSubTask(id);
-        } else {
+        Task task = taskIndex.get(id);
+
+        if (task == null) {
             throw new NotFoundException("Task with Id: " + id + " not found in TaskManager.");
         }
+
+        switch (task.getType()) {
+            case TASK -> deleteTask(id);
+            case EPIC -> deleteEpic(id);
+            case SUBTASK -> deleteSubTask(id);
+        }
     }
 
     @Override
     public void deleteTask(int id) {
-        Task task = tasks.get(id);
+        Task task = findTask(id);
 
         if (task == null) {
             throw new NotFoundException("Task with Id: " + id + " not found in TaskManager.");
         }
 
-        removeFromPrioritizedTasks(tasks.get(id));
+        removeFromPrioritizedTasks(findTask(id));
         historyManager.remove(id);
-        tasks.remove(id);
+        taskIndex = taskIndex.remove(id);
+        publishSnapshot();
     }
 
     @Override
     public void deleteEpic(int id) {
-        Epic epic = epics.get(id);
+        Epic epic = findEpic(id);
 
         if (epic == null) {
             throw new NotFoundException("Epic with Id: " + id + " not found in TaskManager.");
         }
 
-        epic.getSubTaskIdList().forEach(subTaskId -> {
-            subTasks.remove(subTaskId);
+        List<SubTask> removedSubTasks = new ArrayList<>();
+        removeEpicTree(epic, removedSubTasks);
+
+        if (epic.hasParent()) {
+            Epic parent = findEpic(epic.getParentId());
+            storeEpic(parent.withoutChildEpicId(id).withSubTaskStatus(epic.getStatus(), null));
+
+            for (Epic ancestor = parent; ancestor != null; ancestor = parentOf(ancestor)) {
+                EpicAggregate aggregate = epicAggregate(ancestor.getId());
+                removedSubTasks.forEach(aggregate::remove);
+                setEpicTime(ancestor.getId());
+            }
+            propagateEpicStatus(parent.getId());
+        }
+        publishSnapshot();
+    }
+
+    private void removeEpicTree(Epic epic, List<SubTask> removedSubTasks) {
+        epic.childEpicIds().forEach(childId -> removeEpicTree(findEpic(childId), removedSubTasks));
+        epic.subTaskIds().forEach(subTaskId -> {
+            SubTask subTask = findSubTask(subTaskId);
+            removeFromPrioritizedTasks(subTask);
+            removedSubTasks.add(subTask);
+            taskIndex = taskIndex.remove(subTaskId);
             historyManager.remove(subTaskId);
         });
-        historyManager.remove(id);
-        epics.remove(id);
+        historyManager.remove(epic.getId());
+        taskIndex = taskIndex.remove(epic.getId());
+        epicAggregates.remove(epic.getId());
     }
 
     @Override
     public void deleteSubTask(int id) {
-        SubTask subTask = subTasks.get(id);
+        SubTask subTask = findSubTask(id);
 
         if (subTask == null) {
             throw new NotFoundException("Subtask with Id: " + id + " not found in TaskManager.");
         }
 
-        removeFromPrioritizedTasks(subTasks.get(id));
+        removeFromPrioritizedTasks(findSubTask(id));
 
-        Epic epic = epics.get(subTask.getEpicId());
-        epic.removeSubTaskId(subTask.getId());
-        updateEpicStatus(epic.getId());
-        setEpicTime(epic.getId());
+        storeEpic(findEpic(subTask.getEpicId()).withoutSubTaskId(subTask.getId()));
+        rollUpSubTask(subTask.getEpicId(), subTask, null);
         historyManager.remove(id);
-        subTasks.remove(id);
+        taskIndex = taskIndex.remove(id);
+        publishSnapshot();
     }
 
     @Override
     public void updateTask(Task task) {
         checkTaskDataCorrect(task);
-        if (task instanceof Epic || task instanceof SubTask) {
+        if (task.getType() != TaskType.TASK) {
             throw new IllegalArgumentException("Epics and SubTasks must be updated using their own methods.");
         }
         int id = task.getId();
 
-        if (!tasks.containsKey(id)) {
+        if (findTask(id) == null) {
             throw new NotFoundException("Cannot update Task. Task with Id: " + id +
                     " not found in TaskManager.");
         }
-        updatePrioritizedTasks(task, tasks.get(task.getId()));
-        tasks.put(task.getId(), task);
+        Task oldTask = findTask(id);
+        if (task instanceof RecurringTask || oldTask instanceof RecurringTask) {
+            replaceRecurrence(task, oldTask);
+        } else {
+            updatePrioritizedTasks(task, oldTask);
+        }
+        taskIndex = taskIndex.put(task.getId(), task);
+        publishSnapshot();
     }
 
     @Override
@@ -264,21 +393,26 @@ public class InMemoryTaskManager implements TaskManager {
         checkTaskDataCorrect(epic);
         int id = epic.getId();
 
-        if (!epic.getSubTaskIdList().isEmpty()) {
+        if (epic.hasSubTaskIds()) {
             throw new IllegalArgumentException("Cannot update Epic: subTaskIdList must be empty to avoid " +
                     "conflicts with TaskManager.");
         }
 
-        if (!epics.containsKey(id)) {
+        if (findEpic(id) == null) {
             throw new NotFoundException("Cannot update Epic. Epic with Id: " + id +
                     " not found in TaskManager.");
         }
 
-        Epic oldEpic = epics.get(id);
-        Epic updatedEpic = new Epic(epic, oldEpic.getSubTaskIdList());
-        epics.put(id, updatedEpic);
+        Epic oldEpic = findEpic(id);
+        if (epic.hasParent() && epic.getParentId() != oldEpic.getParentId()) {
+            throw new IllegalArgumentException("Cannot update Epic: moving Epic to another parent Epic " +
+                    "is not supported.");
+        }
+
+        storeEpic(new Epic(epic, oldEpic));
         updateEpicStatus(id);
         setEpicTime(id);
+        publishSnapshot();
     }
 
     @Override
@@ -287,29 +421,380 @@ public class InMemoryTaskManager implements TaskManager {
         int subTaskId = subTask.getId();
         int epicId = subTask.getEpicId();
 
-        if (!subTasks.containsKey(subTaskId)) {
+        if (findSubTask(subTaskId) == null) {
             throw new NotFoundException("Cannot update SubTask. SubTask with Id: " + subTaskId +
                     " not found in TaskManager.");
         }
 
-        Epic epic = epics.get(epicId);
+        Epic epic = findEpic(epicId);
         if (epic == null) {
             throw new NotFoundException("Cannot update SubTask. EpicId: " + epicId + "of SubTask with Id: "
                     + subTaskId + " not found in TaskManager.");
         }
 
-        List<Integer> checkIds = epic.getSubTaskIdList();
-        if (checkIds.contains(subTaskId)) {
-            updatePrioritizedTasks(subTask, subTasks.get(subTaskId));
-            subTasks.put(subTaskId, subTask);
-            updateEpicStatus(epicId);
-            setEpicTime(epicId);
+        if (epic.containsSubTaskId(subTaskId)) {
+            SubTask oldSubTask = findSubTask(subTaskId);
+            updatePrioritizedTasks(subTask, oldSubTask);
+            taskIndex = taskIndex.put(subTaskId, subTask);
+            rollUpSubTask(epicId, oldSubTask, subTask);
+            publishSnapshot();
         } else {
             throw new NotFoundException("Cannot update SubTask. In Epic with EpicId: " + epicId +
                     " there is no SubTask with Id: " + subTaskId + ".");
         }
     }
 
+    @Override
+    public Optional<LocalDateTime> findEarliestFreeSlot(Duration duration, LocalDateTime notBefore) {
+        return findFreeSlots(duration, notBefore, 1).stream().findFirst();
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(Duration duration, LocalDateTime notBefore, int limit) {
+        return findFreeSlots(null, duration, notBefore, limit);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(String resource, Duration duration, LocalDateTime notBefore, int limit) {
+        if (duration == null || notBefore == null) {
+            throw new IllegalArgumentException("Duration and search start time must not be null.");
+        }
+
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Duration of requested slot is negative.");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit of requested slots must be positive.");
+        }
+
+        return searchFreeSlots(resource, notBefore, duration, limit);
+    }
+
+    @Override
+    public List<Task> getRecurringOccurrences(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Occurrence window bounds must not be null.");
+        }
+
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Occurrence window end must be after window start.");
+        }
+
+        List<Task> occurrences = new ArrayList<>();
+        for (RecurringTask recurrence : calendars.getAllRecurrences()) {
+            occurrences.addAll(recurrence.getOccurrences(from, to));
+        }
+        occurrences.sort(PRIORITY_ORDER);
+        return occurrences;
+    }
+
+    @Override
+    public List<CalendarUtilization> getCalendarUtilization(String resource, LocalDateTime from, LocalDateTime to,
+                                                            ChronoUnit period) {
+        if (from == null || to == null || period == null) {
+            throw new IllegalArgumentException("Utilization range and period must not be null.");
+        }
+
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Utilization range end must be after range start.");
+        }
+
+        TaskCalendar calendar = calendars.lookup(resource);
+        List<RecurringTask> recurrences = calendars.getRecurrences(resource);
+        List<CalendarUtilization> result = new ArrayList<>();
+        LocalDateTime periodStart = from;
+
+        while (periodStart.isBefore(to)) {
+            LocalDateTime nextPeriod = nextPeriodStart(periodStart, period);
+            LocalDateTime periodEnd = nextPeriod.isBefore(to) ? nextPeriod : to;
+            long totalMinutes = Duration.between(periodStart, periodEnd).toMinutes();
+            long bookedMinutes = calendar.countBookedMinutes(periodStart, periodEnd);
+            int freeBlocks = calendar.countFreeBlocks(periodStart, periodEnd);
+
+            for (long[] run : recurrenceRuns(recurrences, periodStart, periodEnd)) {
+                LocalDateTime runStart = Task.ofEpochMinute(run[0]);
+                LocalDateTime runEnd = Task.ofEpochMinute(run[1]);
+                bookedMinutes += Math.max(0, run[1] - run[0] - calendar.countBookedMinutes(runStart, runEnd));
+                freeBlocks -= calendar.countFreeBlocks(runStart, runEnd);
+
+                if (runStart.isAfter(periodStart) && calendar.isIntervalFree(run[0] - 1, run[0] + 1)) {
+                    freeBlocks++;
+                }
+                if (runEnd.isBefore(periodEnd) && calendar.isIntervalFree(run[1] - 1, run[1] + 1)) {
+                    freeBlocks++;
+                }
+            }
+            bookedMinutes = Math.min(bookedMinutes, totalMinutes);
+
+            result.add(new CalendarUtilization(periodStart, periodEnd, bookedMinutes, totalMinutes - bookedMinutes,
+                    freeBlocks));
+            periodStart = periodEnd;
+        }
+        return result;
+    }
+
+    private static List<long[]> recurrenceRuns(List<RecurringTask> recurrences, LocalDateTime from,
+                                               LocalDateTime to) {
+        long fromMinute = Task.toEpochMinute(from);
+        long toMinute = Task.toEpochMinute(to);
+        List<long[]> occurrences = new ArrayList<>();
+
+        for (RecurringTask recurrence : recurrences) {
+            for (Task occurrence : recurrence.getOccurrences(from, to)) {
+                long start = Math.max(occurrence.getStartMinute(), fromMinute);
+                long end = Math.min(occurrence.getEndMinute(), toMinute);
+                if (start < end) {
+                    occurrences.add(new long[]{start, end});
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparingLong(occurrence -> occurrence[0]));
+
+        List<long[]> runs = new ArrayList<>();
+        for (long[] occurrence : occurrences) {
+            if (!runs.isEmpty() && occurrence[0] <= runs.getLast()[1]) {
+                runs.getLast()[1] = Math.max(runs.getLast()[1], occurrence[1]);
+            } else {
+                runs.add(occurrence);
+            }
+        }
+        return runs;
+    }
+
+    @Override
+    public List<IntervalConflicts> validateIntervals(List<IntervalProposal> proposals) {
+        if (proposals == null) {
+            throw new IllegalArgumentException("List of interval proposals is null.");
+        }
+
+        List<Integer> sweepOrder = new ArrayList<>();
+        List<List<Integer>> taskConflicts = new ArrayList<>();
+        List<List<Integer>> proposalConflicts = new ArrayList<>();
+
+        for (int i = 0; i < proposals.size(); i++) {
+            IntervalProposal proposal = proposals.get(i);
+
+            if (proposal == null || proposal.getStartTime() == null || proposal.getDuration() == null) {
+                throw new IllegalArgumentException("Interval proposal " + i + " has no startTime or duration.");
+            }
+
+            if (proposal.getDuration().isNegative()) {
+                throw new IllegalArgumentException("Interval proposal " + i + " has negative duration.");
+            }
+
+            if (!proposal.getDuration().isZero()) {
+                sweepOrder.add(i);
+            }
+            taskConflicts.add(new ArrayList<>());
+            proposalConflicts.add(new ArrayList<>());
+        }
+        sweepOrder.sort(Comparator.comparing(i -> proposals.get(i).getStartTime()));
+
+        Map<String, List<Task>> activeTasks = new HashMap<>();
+        Map<String, List<Integer>> activeProposals = new HashMap<>();
+        Iterator<Task> existing = prioritizedTasks.iterator();
+        Task nextTask = existing.hasNext() ? existing.next() : null;
+        LocalDateTime sweepEnd = null;
+        int position = 0;
+
+        while (position < sweepOrder.size()
+                || nextTask != null && sweepEnd != null && nextTask.getStartTime().isBefore(sweepEnd)) {
+            IntervalProposal proposal = position < sweepOrder.size() ? proposals.get(sweepOrder.get(position)) : null;
+
+            if (nextTask != null && (proposal == null || !nextTask.getStartTime().isAfter(proposal.getStartTime()))) {
+                LocalDateTime start = nextTask.getStartTime();
+                if (!nextTask.getEndTime().isAfter(start)) {
+                    nextTask = existing.hasNext() ? existing.next() : null;
+                    continue;
+                }
+
+                List<Integer> overlapping = activeProposals.computeIfAbsent(nextTask.getResource(),
+                        key -> new ArrayList<>());
+                overlapping.removeIf(i -> !proposals.get(i).getEndTime().isAfter(start));
+
+                for (int overlappingIndex : overlapping) {
+                    taskConflicts.get(overlappingIndex).add(nextTask.getId());
+                }
+
+                activeTasks.computeIfAbsent(nextTask.getResource(), key -> new ArrayList<>()).add(nextTask);
+                nextTask = existing.hasNext() ? existing.next() : null;
+                continue;
+            }
+
+            int index = sweepOrder.get(position);
+            LocalDateTime start = proposal.getStartTime();
+            List<Task> overlappingTasks = activeTasks.computeIfAbsent(proposal.getResource(),
+                    key -> new ArrayList<>());
+            List<Integer> overlapping = activeProposals.computeIfAbsent(proposal.getResource(),
+                    key -> new ArrayList<>());
+            overlappingTasks.removeIf(task -> !task.getEndTime().isAfter(start));
+            overlapping.removeIf(i -> !proposals.get(i).getEndTime().isAfter(start));
+
+            for (Task task : overlappingTasks) {
+                taskConflicts.get(index).add(task.getId());
+            }
+
+            for (int overlappingIndex : overlapping) {
+                proposalConflicts.get(index).add(overlappingIndex);
+                proposalConflicts.get(overlappingIndex).add(index);
+            }
+            overlapping.add(index);
+            if (sweepEnd == null || proposal.getEndTime().isAfter(sweepEnd)) {
+                sweepEnd = proposal.getEndTime();
+            }
+            position++;
+        }
+
+        List<IntervalConflicts> result = new ArrayList<>();
+        for (int i = 0; i < proposals.size(); i++) {
+            IntervalProposal proposal = proposals.get(i);
+            for (RecurringTask recurrence : calendars.getRecurrences(proposal.getResource())) {
+                if (recurrence.overlaps(proposal.getStartTime(), proposal.getEndTime())) {
+                    taskConflicts.get(i).add(recurrence.getId());
+                }
+            }
+
+            List<Integer> proposalIndexes = proposalConflicts.get(i);
+            proposalIndexes.sort(Comparator.naturalOrder());
+            boolean schedulable = taskConflicts.get(i).isEmpty() && proposalIndexes.isEmpty()
+                    && isProposalFree(proposal);
+
+            result.add(new IntervalConflicts(i, taskConflicts.get(i), proposalIndexes, schedulable));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> autoSchedule(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                                   Comparator<? super Task> order) {
+        if (ids == null) {
+            throw new IllegalArgumentException("List of ids to schedule is null.");
+        }
+
+        List<Task> candidates = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                throw new IllegalArgumentException("List of ids to schedule contains null.");
+            }
+            candidates.add(findSchedulableTask(id));
+        }
+        return scheduleAll(candidates, duration, notBefore, order);
+    }
+
+    protected Task findSchedulableTask(int id) {
+        Task task = taskIndex.get(id);
+        if (task == null) {
+            throw new NotFoundException("Cannot schedule Task. Task with Id: " + id +
+                    " not found in TaskManager.");
+        }
+
+        if (task.getType() == TaskType.EPIC) {
+            throw new IllegalArgumentException("Cannot schedule Epic with Id: " + id +
+                    ". Epic time is derived from its SubTasks.");
+        }
+
+        if (task.getStartTime() != null) {
+            throw new IllegalArgumentException("Cannot schedule Task with Id: " + id +
+                    ". Task already has startTime.");
+        }
+        return task;
+    }
+
+    @Override
+    public List<Task> autoScheduleEpic(int epicId, Duration duration, LocalDateTime notBefore,
+                                       Comparator<? super Task> order) {
+        Epic epic = findEpic(epicId);
+
+        if (epic == null) {
+            throw new NotFoundException("Epic with id: " + epicId + " not found in TaskManager.");
+        }
+
+        List<Task> candidates = epic.subTaskIds()
+                .mapToObj(this::findSubTask)
+                .filter(subTask -> subTask.getStartTime() == null)
+                .map(Task.class::cast)
+                .toList();
+        return scheduleAll(candidates, duration, notBefore, order);
+    }
+
+    private List<Task> scheduleAll(List<Task> candidates, Duration duration, LocalDateTime notBefore,
+                                   Comparator<? super Task> order) {
+        List<Task> scheduled = planSchedule(candidates, duration, notBefore, order);
+        commitSchedule(scheduled);
+        return scheduled;
+    }
+
+    List<Task> planSchedule(List<Task> candidates, Duration duration, LocalDateTime notBefore,
+                            Comparator<? super Task> order) {
+        checkScheduleArguments(duration, notBefore);
+
+        List<Task> sorted = new ArrayList<>(candidates);
+        sorted.sort(order != null ? order : Comparator.comparingInt(Task::getId));
+
+        List<Task> scheduled = new ArrayList<>();
+        Map<String, LocalDateTime> cursors = new HashMap<>();
+        for (Task task : sorted) {
+            LocalDateTime cursor = cursors.getOrDefault(task.getResource(), notBefore);
+            List<LocalDateTime> freeSlots = searchFreeSlots(task.getResource(), cursor, duration, 1);
+
+            if (freeSlots.isEmpty()) {
+                cancelSchedule(scheduled);
+                throw new IllegalArgumentException("Cannot schedule Tasks - not enough free calendar time for " +
+                        sorted.size() + " tasks.");
+            }
+
+            Task timedTask = withTime(task, freeSlots.getFirst(), duration);
+            markCalendarInterval(timedTask);
+            scheduled.add(timedTask);
+            cursors.put(task.getResource(), timedTask.getEndTime());
+        }
+        return scheduled;
+    }
+
+    void commitSchedule(List<Task> tasks) {
+        for (Task task : tasks) {
+            Task oldTask = taskIndex.get(task.getId());
+            taskIndex = taskIndex.put(task.getId(), task);
+
+            if (task instanceof SubTask subTask) {
+                rollUpSubTask(subTask.getEpicId(), (SubTask) oldTask, subTask);
+            }
+
+            if (oldTask.hasTime()) {
+                prioritizedTasks.remove(oldTask);
+            }
+
+            if (task.hasTime()) {
+                prioritizedTasks.add(task);
+            }
+        }
+        publishSnapshot();
+    }
+
+    void cancelSchedule(List<Task> scheduled) {
+        scheduled.forEach(this::freeCalendarInterval);
+    }
+
+    private static void checkScheduleArguments(Duration duration, LocalDateTime notBefore) {
+        if (duration == null || notBefore == null) {
+            throw new IllegalArgumentException("Duration and schedule start time must not be null.");
+        }
+
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration of scheduled tasks must be positive.");
+        }
+    }
+
+    protected static Task withTime(Task task, LocalDateTime startTime, Duration duration) {
+        if (task instanceof SubTask subTask) {
+            return new SubTask(subTask.getId(), subTask.getName(), subTask.getDescription(), subTask.getStatus(),
+                    subTask.getEpicId(), startTime, duration, subTask.getResource());
+        }
+        return new Task(task.getId(), task.getName(), task.getDescription(), task.getStatus(), startTime, duration,
+                task.getResource());
+    }
+
     private void checkTaskOkToAdd(Task task) {
         checkTaskDataCorrect(task);
 
@@ -354,70 +839,148 @@ public class InMemoryTaskManager implements TaskManager {
             errors.add("Task provided to Task Manager has negative duration.");
         }
 
+        if (task.getResource() != null && (task.getResource().isBlank() || task.getResource().contains(","))) {
+            errors.add("Task provided to Task Manager has empty resource or resource with comma.");
+        }
+
+        if (task instanceof RecurringTask recurringTask) {
+            Duration repeatInterval = recurringTask.getRepeatInterval();
+
+            if (task.getStartTime() == null || task.getDuration() == null || task.getDuration().isZero()) {
+                errors.add("Recurring Task provided to Task Manager has no startTime or duration.");
+            }
+
+            if (repeatInterval == null || repeatInterval.toMinutes() <= 0
+                    || (task.getDuration() != null && repeatInterval.compareTo(task.getDuration()) < 0)) {
+                errors.add("Recurring Task provided to Task Manager has repeat interval shorter than duration.");
+            }
+
+            if (recurringTask.getRepeatCount() <= 0) {
+                errors.add("Recurring Task provided to Task Manager has non-positive repeat count.");
+            }
+        }
+
         if (!errors.isEmpty()) {
             throw new IllegalArgumentException(String.join("\n", errors));
         }
     }
 
     private Task addToTasks(Task task) {
-        if (task.getEndTime() != null && !isCalendarIntervalFree(task)) {
+        if (task.hasTime() && !isCalendarIntervalFree(task)) {
             throw new IllegalArgumentException("Cannot add Task - task interval is occupied.");
         }
 
-        idCounter++;
-        Task newTask = new Task(idCounter, task.getName(), task.getDescription(), task.getStartTime(), task.getDuration());
-        tasks.put(newTask.getId(), newTask);
+        int id = idAllocator.nextId();
+        Task newTask = task instanceof RecurringTask recurringTask
+                ? new RecurringTask(id, task.getName(), task.getDescription(), Status.NEW,
+                task.getStartTime(), task.getDuration(), task.getResource(), recurringTask.getRepeatInterval(),
+                recurringTask.getRepeatCount())
+                : new Task(id, task.getName(), task.getDescription(), Status.NEW, task.getStartTime(),
+                task.getDuration(), task.getResource());
+        taskIndex = taskIndex.put(newTask.getId(), newTask);
         addToPrioritizedTasks(newTask);
+        publishSnapshot();
         return newTask;
     }
 
     private Epic addToEpics(Epic epic) {
-        idCounter++;
-        Epic newEpic = new Epic(idCounter, epic.getName(), epic.getDescription());
-        epics.put(newEpic.getId(), newEpic);
+        Epic newEpic = new Epic(idAllocator.nextId(), epic.getName(), epic.getDescription(), epic.getParentId());
+        taskIndex = taskIndex.put(newEpic.getId(), newEpic);
         setEpicTime(newEpic.getId());
+        linkToParentEpic(newEpic);
+        publishSnapshot();
         return newEpic;
     }
 
     private SubTask addToSubTasks(SubTask subTask) {
-        if (subTask.getEndTime() != null && !isCalendarIntervalFree(subTask)) {
+        if (subTask.hasTime() && !isCalendarIntervalFree(subTask)) {
             throw new IllegalArgumentException("Cannot add SubTask - SubTask interval is occupied.");
         }
 
-        idCounter++;
-        SubTask newSubTask = new SubTask(idCounter, subTask.getName(), subTask.getDescription(), subTask.getEpicId(),
-                subTask.getStartTime(), subTask.getDuration());
-        subTasks.put(newSubTask.getId(), newSubTask);
+        SubTask newSubTask = new SubTask(idAllocator.nextId(), subTask.getName(), subTask.getDescription(), Status.NEW,
+                subTask.getEpicId(), subTask.getStartTime(), subTask.getDuration(), subTask.getResource());
+        taskIndex = taskIndex.put(newSubTask.getId(), newSubTask);
         addToPrioritizedTasks(newSubTask);
 
-        Epic epic = epics.get(newSubTask.getEpicId());
-        epic.addSubTaskId(newSubTask.getId());
-        updateEpicStatus(epic.getId());
-        setEpicTime(epic.getId());
+        storeEpic(findEpic(newSubTask.getEpicId()).withSubTaskId(newSubTask.getId()));
+        rollUpSubTask(newSubTask.getEpicId(), null, newSubTask);
+        publishSnapshot();
 
         return newSubTask;
     }
 
-    protected void updateEpicStatus(int id) {
-        Epic epic = epics.get(id);
+    protected void linkToParentEpic(Epic epic) {
+        if (!epic.hasParent()) {
+            return;
+        }
 
-        List<SubTask> epicSubTasks = epic.getSubTaskIdList().stream()
-                .map(subTasks::get)
-                .toList();
+        Epic parent = findEpic(epic.getParentId());
+        storeEpic(parent.withChildEpicId(epic.getId()).withSubTaskStatus(null, epic.getStatus()));
+        propagateEpicStatus(parent.getId());
+    }
+
+    protected void rollUpSubTask(int epicId, SubTask removedSubTask, SubTask addedSubTask) {
+        Epic epic = findEpic(epicId);
+        storeEpic(epic.withSubTaskStatus(removedSubTask != null ? removedSubTask.getStatus() : null,
+                addedSubTask != null ? addedSubTask.getStatus() : null));
+
+        for (Epic ancestor = epic; ancestor != null; ancestor = parentOf(ancestor)) {
+            EpicAggregate aggregate = epicAggregate(ancestor.getId());
+            if (removedSubTask != null) {
+                aggregate.remove(removedSubTask);
+            }
+            if (addedSubTask != null) {
+                aggregate.add(addedSubTask);
+            }
+            setEpicTime(ancestor.getId());
+        }
+        propagateEpicStatus(epicId);
+    }
+
+    private Epic parentOf(Epic epic) {
+        return epic.hasParent() ? findEpic(epic.getParentId()) : null;
+    }
+
+    private void propagateEpicStatus(int id) {
+        Epic epic = findEpic(id);
+
+        while (epic != null) {
+            Status oldStatus = epic.getStatus();
+            Status newStatus = updateEpicStatus(epic.getId());
 
-        if (epicSubTasks.isEmpty()) {
-            epic.setStatus(Status.NEW);
-        } else if (epicSubTasks.stream().allMatch(subTask -> subTask.getStatus() == Status.NEW)) {
-            epic.setStatus(Status.NEW);
-        } else if (epicSubTasks.stream().allMatch(subTask -> subTask.getStatus() == Status.DONE)) {
-            epic.setStatus(Status.DONE);
+            if (oldStatus == newStatus || !epic.hasParent()) {
+                return;
+            }
+
+            Epic parent = findEpic(epic.getParentId());
+            storeEpic(parent.withSubTaskStatus(oldStatus, newStatus));
+            epic = findEpic(parent.getId());
+        }
+    }
+
+    protected Status updateEpicStatus(int id) {
+        Epic epic = findEpic(id);
+        int subTaskCount = epic.getSubTaskCount();
+        Status status;
+
+        if (subTaskCount == epic.getSubTaskCount(Status.NEW)) {
+            status = Status.NEW;
+        } else if (subTaskCount == epic.getSubTaskCount(Status.DONE)) {
+            status = Status.DONE;
         } else {
-            epic.setStatus(Status.IN_PROGRESS);
+            status = Status.IN_PROGRESS;
         }
+        storeEpic(epic.withStatus(status));
+        return status;
     }
 
     private void addToPrioritizedTasks(Task task) {
-        if (task.getEndTime() == null) {
+        if (!task.hasTime()) {
+            return;
+        }
+
+        if (task instanceof RecurringTask recurringTask) {
+            calendars.addRecurrence(recurringTask);
             return;
         }
 
@@ -426,7 +989,12 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     private void removeFromPrioritizedTasks(Task task) {
-        if (task.getEndTime() == null) {
+        if (!task.hasTime()) {
+            return;
+        }
+
+        if (task instanceof RecurringTask recurringTask) {
+            calendars.removeRecurrence(recurringTask);
             return;
         }
 
@@ -435,11 +1003,11 @@ public class InMemoryTaskManager implements TaskManager {
     }
 
     private void updatePrioritizedTasks(Task newTask, Task oldTask) {
-        if (newTask.getEndTime() == null && oldTask.getEndTime() == null) {
+        if (!newTask.hasTime() && !oldTask.hasTime()) {
             return;
         }
 
-        if (newTask.getEndTime() == null) {
+        if (!newTask.hasTime()) {
             if (prioritizedTasks.contains(oldTask)) {
                 freeCalendarInterval(oldTask);
                 prioritizedTasks.remove(oldTask);
@@ -447,7 +1015,7 @@ public class InMemoryTaskManager implements TaskManager {
             return;
         }
 
-        if (oldTask.getEndTime() == null) {
+        if (!oldTask.hasTime()) {
             if (isCalendarIntervalFree(newTask)) {
                 markCalendarInterval(newTask);
                 prioritizedTasks.add(newTask);
@@ -468,92 +1036,214 @@ public class InMemoryTaskManager implements TaskManager {
         }
     }
 
-    protected void setEpicTime(int id) {
-        Epic epic = epics.get(id);
+    private void replaceRecurrence(Task newTask, Task oldTask) {
+        removeFromPrioritizedTasks(oldTask);
 
-        List<SubTask> epicSubTasks = epic.getSubTaskIdList().stream()
-                .map(subTasks::get)
-                .filter(subTask -> subTask.getEndTime() != null)
-                .toList();
+        try {
+            if (newTask.hasTime() && !isCalendarIntervalFree(newTask)) {
+                throw new IllegalArgumentException("Cannot update Task - task interval is occupied");
+            }
+        } catch (IllegalArgumentException ex) {
+            addToPrioritizedTasks(oldTask);
+            throw ex;
+        }
+        addToPrioritizedTasks(newTask);
+    }
+
+    protected void setEpicTime(int id) {
+        Epic epic = findEpic(id);
+        EpicAggregate aggregate = epicAggregate(id);
 
-        if (epicSubTasks.isEmpty()) {
-            epic.setEpicTime(null, null, null);
+        if (!aggregate.hasTime()) {
+            storeEpic(epic.withEpicTime(null, null, null));
             return;
         }
 
-        LocalDateTime startTime = epicSubTasks.stream()
-                .map(SubTask::getStartTime)
-                .min(LocalDateTime::compareTo)
-                .orElseThrow();
+        storeEpic(epic.withEpicTime(aggregate.getStartMinute(), aggregate.getEndMinute(), aggregate.getDuration()));
+    }
 
-        LocalDateTime endTime = epicSubTasks.stream()
-                .map(SubTask::getEndTime)
-                .max(LocalDateTime::compareTo)
-                .orElseThrow();
+    protected void storeEpic(Epic epic) {
+        taskIndex = taskIndex.put(epic.getId(), epic);
+        historyManager.replace(epic);
+    }
 
-        Duration duration = epicSubTasks.stream()
-                .map(SubTask::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
+    private List<LocalDateTime> searchFreeSlots(String resource, LocalDateTime notBefore, Duration duration,
+                                                int limit) {
+        TaskCalendar calendar = calendars.lookup(resource);
+        List<RecurringTask> recurrences = calendars.getRecurrences(resource);
+        List<LocalDateTime> freeSlots = new ArrayList<>();
+        LocalDateTime cursor = notBefore;
+
+        while (freeSlots.size() < limit) {
+            LocalDateTime blockedUntil = null;
+
+            for (LocalDateTime candidate : calendar.findFreeSlots(cursor, duration, limit - freeSlots.size())) {
+                blockedUntil = findRecurrenceEnd(recurrences, candidate, candidate.plus(duration));
+                if (blockedUntil != null) {
+                    break;
+                }
+                freeSlots.add(candidate);
+            }
 
-        epic.setEpicTime(startTime, duration, endTime);
+            if (blockedUntil == null) {
+                break;
+            }
+            cursor = blockedUntil;
+        }
+        return freeSlots;
     }
 
-    private TreeMap<LocalDateTime, Boolean> initializeCalendar() {
-        TreeMap<LocalDateTime, Boolean> calendar = new TreeMap<>();
-        LocalDateTime start = LocalDate.now().atStartOfDay();
-        LocalDateTime end = start.plusYears(CALENDAR_YEARS);
+    private boolean isRecurrenceFree(RecurringTask recurringTask) {
+        TaskCalendar calendar = calendars.lookup(recurringTask.getResource());
+        long length = recurringTask.getEndMinute() - recurringTask.getStartMinute();
+
+        for (int index = 0; index < recurringTask.getRepeatCount(); index++) {
+            long occurrenceStart = recurringTask.getOccurrenceStartMinute(index);
+            if (!calendar.isIntervalFree(occurrenceStart, occurrenceStart + length)
+                    && overlapsBookedTask(recurringTask.getResource(), occurrenceStart, occurrenceStart + length)) {
+                return false;
+            }
+        }
 
-        while (!start.isAfter(end)) {
-            calendar.put(start, true);
-            start = start.plusMinutes(CALENDAR_INTERVAL);
+        for (RecurringTask recurrence : calendars.getRecurrences(recurringTask.getResource())) {
+            if (recurrence.getId() != recurringTask.getId() && recurringTask.overlaps(recurrence)) {
+                return false;
+            }
         }
-        return calendar;
+        return true;
     }
 
-    protected void markCalendarInterval(Task task) {
-        LocalDateTime roundedStartTime = roundDownTime.apply(task.getStartTime());
-        LocalDateTime roundedEndTime = roundUpTime.apply(task.getEndTime());
+    private boolean overlapsBookedTask(String resource, long startMinute, long endMinute) {
+        for (Task task : prioritizedTasks.headSet(createProbe(Task.ofEpochMinute(endMinute)), false).descendingSet()) {
+            if (Objects.equals(task.getResource(), resource)) {
+                return task.getEndMinute() > startMinute;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime findRecurrenceEnd(List<RecurringTask> recurrences, LocalDateTime startTime,
+                                                   LocalDateTime endTime) {
+        LocalDateTime blockedUntil = null;
+
+        for (RecurringTask recurrence : recurrences) {
+            int index = recurrence.findOverlappingOccurrence(startTime, endTime);
 
-        calendar.subMap(roundedStartTime, roundedEndTime)
-                .replaceAll((k, v) -> Boolean.FALSE);
+            if (index >= 0) {
+                LocalDateTime occurrenceEnd = recurrence.getOccurrenceStart(index).plus(recurrence.getDuration());
+                if (blockedUntil == null || occurrenceEnd.isAfter(blockedUntil)) {
+                    blockedUntil = occurrenceEnd;
+                }
+            }
+        }
+        return blockedUntil;
     }
 
-    private void freeCalendarInterval(Task task) {
-        LocalDateTime roundedStartTime = roundDownTime.apply(task.getStartTime());
-        LocalDateTime roundedEndTime = roundUpTime.apply(task.getEndTime());
+    private boolean isProposalFree(IntervalProposal proposal) {
+        try {
+            return calendars.lookup(proposal.getResource())
+                    .isIntervalFree(proposal.getStartTime(), proposal.getEndTime());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static Task createProbe(LocalDateTime time) {
+        return new Task(Integer.MIN_VALUE, "", "", Status.NEW, time, Duration.ZERO);
+    }
+
+    private static LocalDateTime nextPeriodStart(LocalDateTime dateTime, ChronoUnit period) {
+        LocalDate date = dateTime.toLocalDate();
+
+        return switch (period) {
+            case DAYS -> date.plusDays(1).atStartOfDay();
+            case WEEKS -> date.with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTHS -> date.with(TemporalAdjusters.firstDayOfNextMonth()).atStartOfDay();
+            default -> throw new IllegalArgumentException("Unsupported utilization period: " + period + ".");
+        };
+    }
+
+    private EpicProgress createEpicProgress(Epic epic, LocalDateTime now) {
+        if (now == null) {
+            throw new IllegalArgumentException("Progress time must not be null.");
+        }
+
+        EpicAggregate aggregate = Objects.requireNonNullElseGet(epicAggregates.get(epic.getId()),
+                EpicAggregate::new);
+        SubTask nextSubTask = aggregate.nextPendingSubTask(now)
+                .map(subTask -> findSubTask(subTask.getId()))
+                .orElse(null);
+
+        return new EpicProgress(epic.getId(), aggregate.getSubTaskCount(), aggregate.getDoneSubTasks(),
+                aggregate.getRemainingMinutes(), nextSubTask);
+    }
+
+    protected Task findTask(int id) {
+        Task task = taskIndex.get(id);
+        return task != null && task.getType() == TaskType.TASK ? task : null;
+    }
+
+    protected Epic findEpic(int id) {
+        Task task = taskIndex.get(id);
+        return task != null && task.getType() == TaskType.EPIC ? (Epic) task : null;
+    }
+
+    protected SubTask findSubTask(int id) {
+        Task task = taskIndex.get(id);
+        return task != null && task.getType() == TaskType.SUBTASK ? (SubTask) task : null;
+    }
+
+    private <T extends Task> List<T> tasksOfType(TaskType type, Class<T> taskClass) {
+        return taskIndex.stream(null, type)
+                .map(taskClass::cast)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    protected EpicAggregate epicAggregate(int epicId) {
+        return epicAggregates.computeIfAbsent(epicId, key -> new EpicAggregate());
+    }
+
+    protected static TaskCalendar createDefaultCalendar() {
+        return new PagedSlotCalendar(CALENDAR_INTERVAL);
+    }
 
-        calendar.subMap(roundedStartTime, roundedEndTime)
-                .replaceAll((k, v) -> Boolean.TRUE);
+    protected void markCalendarInterval(Task task) {
+        calendars.forResource(task.getResource()).markInterval(task.getStartMinute(), task.getEndMinute());
     }
 
-    private boolean isCalendarIntervalFree(Task task) {
-        LocalDateTime roundedStartTime = roundDownTime.apply(task.getStartTime());
-        LocalDateTime roundedEndTime = roundUpTime.apply(task.getEndTime());
+    private void freeCalendarInterval(Task task) {
+        calendars.forResource(task.getResource()).freeInterval(task.getStartMinute(), task.getEndMinute());
+    }
 
-        if (!calendar.containsKey(roundedStartTime) || !calendar.containsKey(roundedEndTime)) {
-            throw new IllegalArgumentException("Task time is outside of calendar range.");
+    protected boolean isCalendarIntervalFree(Task task) {
+        if (task instanceof RecurringTask recurringTask) {
+            return isRecurrenceFree(recurringTask);
         }
 
-        SortedMap<LocalDateTime, Boolean> taskInterval = calendar.subMap(roundedStartTime, roundedEndTime);
+        List<RecurringTask> recurrences = calendars.getRecurrences(task.getResource());
+        if (!calendars.lookup(task.getResource()).isIntervalFree(task.getStartMinute(), task.getEndMinute())) {
+            return false;
+        }
 
-        return taskInterval.values().stream().allMatch(Boolean::booleanValue);
+        for (RecurringTask recurrence : recurrences) {
+            if (recurrence.overlaps(task.getStartMinute(), task.getEndMinute())) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private final Function<LocalDateTime, LocalDateTime> roundDownTime = dt -> {
-        int minute = dt.getMinute();
-        int rounded = (minute / CALENDAR_INTERVAL) * CALENDAR_INTERVAL;
-        return dt.withMinute(rounded).withSecond(0).withNano(0);
-    };
+    @Override
+    public TaskSnapshot snapshot() {
+        return snapshot;
+    }
 
-    private final Function<LocalDateTime, LocalDateTime> roundUpTime = dt -> {
-        int minute = dt.getMinute();
-        int mod = minute % CALENDAR_INTERVAL;
-        int delta = (mod == 0) ? 0 : CALENDAR_INTERVAL - mod;
-        return dt.plusMinutes(delta).withSecond(0).withNano(0);
-    };
+    protected void publishSnapshot() {
+        snapshot = new TaskSnapshot(snapshot.getVersion() + 1, taskIndex);
+    }
 
     @Override
     public int getIdCounter() {
-        return idCounter;
+        return idAllocator.getHighWaterMark();
     }
 }
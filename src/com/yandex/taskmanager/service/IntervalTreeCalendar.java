@@ -0,0 +1,116 @@
+package com.yandex.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class IntervalTreeCalendar implements TaskCalendar {
+    private final TreeMap<Long, Long> intervals = new TreeMap<>();
+
+    @Override
+    public boolean isIntervalFree(long start, long end) {
+        if (end <= start) {
+            return true;
+        }
+
+        Map.Entry<Long, Long> previous = intervals.lowerEntry(end);
+        return previous == null || previous.getValue() <= start;
+    }
+
+    @Override
+    public void markInterval(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+
+        if (!isIntervalFree(start, end)) {
+            throw new IllegalStateException("Interval overlaps an already booked interval.");
+        }
+        intervals.put(start, end);
+    }
+
+    @Override
+    public void freeInterval(long start, long end) {
+        intervals.remove(start, end);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime notBefore, Duration duration, int limit) {
+        List<LocalDateTime> freeSlots = new ArrayList<>();
+        long length = Math.ceilDiv(duration.getSeconds(), 60);
+        long cursor = toEndMinute(notBefore);
+
+        while (freeSlots.size() < limit) {
+            Map.Entry<Long, Long> previous = length > 0 ? intervals.lowerEntry(cursor + length) : null;
+
+            if (previous == null || previous.getValue() <= cursor) {
+                freeSlots.add(LocalDateTime.ofEpochSecond(cursor * 60, 0, ZoneOffset.UTC));
+                cursor += Math.max(length, 1);
+            } else {
+                cursor = previous.getValue();
+            }
+        }
+        return freeSlots;
+    }
+
+    @Override
+    public long countBookedMinutes(LocalDateTime from, LocalDateTime to) {
+        long start = toStartMinute(from);
+        long end = toStartMinute(to);
+        long booked = 0;
+
+        for (Map.Entry<Long, Long> interval : overlapping(start, end)) {
+            booked += Math.min(interval.getValue(), end) - Math.max(interval.getKey(), start);
+        }
+        return booked;
+    }
+
+    @Override
+    public int countFreeBlocks(LocalDateTime from, LocalDateTime to) {
+        long cursor = toStartMinute(from);
+        long end = toStartMinute(to);
+        int blocks = 0;
+
+        for (Map.Entry<Long, Long> interval : overlapping(cursor, end)) {
+            if (interval.getKey() > cursor) {
+                blocks++;
+            }
+            cursor = Math.max(cursor, interval.getValue());
+        }
+        return cursor < end ? blocks + 1 : blocks;
+    }
+
+    @Override
+    public void clear() {
+        intervals.clear();
+    }
+
+    public int size() {
+        return intervals.size();
+    }
+
+    private List<Map.Entry<Long, Long>> overlapping(long start, long end) {
+        List<Map.Entry<Long, Long>> result = new ArrayList<>();
+        Map.Entry<Long, Long> previous = intervals.lowerEntry(start);
+
+        if (previous != null && previous.getValue() > start) {
+            result.add(previous);
+        }
+        if (start < end) {
+            result.addAll(intervals.subMap(start, end).entrySet());
+        }
+        return result;
+    }
+
+    private static long toStartMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long toEndMinute(LocalDateTime dateTime) {
+        return Math.ceilDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
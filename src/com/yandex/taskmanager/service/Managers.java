@@ -1,6 +1,8 @@
 package com.yandex.taskmanager.service;
 
 import java.io.File;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 import java.io.IOException;
 
@@ -12,6 +14,35 @@ public class Managers {
         return new InMemoryTaskManager();
     }
 
+    public static TaskManager getTaskManager(Supplier<TaskCalendar> calendarFactory) {
+        return new InMemoryTaskManager(calendarFactory);
+    }
+
+    public static TaskManager getTaskManager(Supplier<TaskCalendar> calendarFactory, IdAllocator idAllocator) {
+        return new InMemoryTaskManager(calendarFactory, idAllocator);
+    }
+
+    public static TaskManager getBoundedTaskManager(LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        return new InMemoryTaskManager(() -> new SlotCalendar(rangeStart, rangeEnd,
+                InMemoryTaskManager.CALENDAR_INTERVAL));
+    }
+
+    public static TaskManager getConcurrentTaskManager() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager());
+    }
+
+    public static TaskManager getConcurrentTaskManager(TaskManager manager) {
+        return new ConcurrentTaskManager(manager);
+    }
+
+    public static TaskManager getShardedTaskManager(int shardCount) {
+        return new ShardedTaskManager(shardCount);
+    }
+
+    public static TaskManager getShardedTaskManager(int shardCount, Supplier<TaskCalendar> calendarFactory) {
+        return new ShardedTaskManager(shardCount, calendarFactory);
+    }
+
     public static TaskManager getFileBackedTaskManager(File saveFile) {
         try {
             return new FileBackedTaskManager(saveFile);
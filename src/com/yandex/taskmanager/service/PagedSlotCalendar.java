@@ -0,0 +1,256 @@
+package com.yandex.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PagedSlotCalendar implements TaskCalendar {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private final int slotMinutes;
+    private final int slotsPerPage;
+    private final int wordsPerPage;
+    private final Map<Long, long[]> pages = new HashMap<>();
+    private long firstSlot;
+    private long lastSlot;
+
+    public PagedSlotCalendar(int slotMinutes) {
+        this(slotMinutes, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public PagedSlotCalendar(LocalDateTime rangeStart, LocalDateTime rangeEnd, int slotMinutes) {
+        this(slotMinutes, toSlot(rangeStart, slotMinutes), toSlot(rangeEnd, slotMinutes));
+
+        if (rangeEnd.isBefore(rangeStart)) {
+            throw new IllegalArgumentException("Calendar range end is before range start.");
+        }
+    }
+
+    private PagedSlotCalendar(int slotMinutes, long firstSlot, long lastSlot) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Calendar slot length must divide a day into whole slots.");
+        }
+
+        this.slotMinutes = slotMinutes;
+        this.slotsPerPage = MINUTES_PER_DAY / slotMinutes;
+        this.wordsPerPage = (slotsPerPage + Long.SIZE - 1) / Long.SIZE;
+        this.firstSlot = firstSlot;
+        this.lastSlot = lastSlot;
+    }
+
+    @Override
+    public boolean isIntervalFree(long startMinute, long endMinute) {
+        long from = startSlot(startMinute);
+        long to = endSlot(endMinute);
+
+        if (from < firstSlot || from > lastSlot || to < firstSlot || to > lastSlot) {
+            throw new IllegalArgumentException("Task time is outside of calendar range.");
+        }
+
+        for (long page = pageOf(from); from < to; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(to, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.get(page);
+
+            if (words != null && SlotBits.anySet(words, (int) (from - pageStart), localTo)) {
+                return false;
+            }
+            from = pageStart + localTo;
+        }
+        return true;
+    }
+
+    @Override
+    public void markInterval(long startMinute, long endMinute) {
+        long from = startSlot(startMinute);
+        long to = endSlot(endMinute);
+
+        for (long page = pageOf(from); from < to; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(to, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.computeIfAbsent(page, key -> new long[wordsPerPage]);
+
+            SlotBits.setRange(words, (int) (from - pageStart), localTo, true);
+            from = pageStart + localTo;
+        }
+    }
+
+    @Override
+    public void freeInterval(long startMinute, long endMinute) {
+        long from = startSlot(startMinute);
+        long to = endSlot(endMinute);
+
+        for (long page = pageOf(from); from < to; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(to, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.get(page);
+
+            if (words != null) {
+                SlotBits.setRange(words, (int) (from - pageStart), localTo, false);
+                if (SlotBits.isEmpty(words)) {
+                    pages.remove(page);
+                }
+            }
+            from = pageStart + localTo;
+        }
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime notBefore, Duration duration, int limit) {
+        List<LocalDateTime> freeSlots = new ArrayList<>();
+        long length = duration.toMinutes();
+        long cursor = Math.ceilDiv(notBefore.toEpochSecond(ZoneOffset.UTC), 60);
+
+        if (firstSlot != Long.MIN_VALUE) {
+            cursor = Math.max(cursor, firstSlot * slotMinutes);
+        }
+
+        while (freeSlots.size() < limit) {
+            long from = Math.floorDiv(cursor, slotMinutes);
+            long to = Math.ceilDiv(cursor + length, slotMinutes);
+
+            if (from > lastSlot || to > lastSlot) {
+                break;
+            }
+
+            long busy = nextOccupiedSlot(from, to);
+            if (busy == to) {
+                freeSlots.add(LocalDateTime.ofEpochSecond(cursor * 60, 0, ZoneOffset.UTC));
+                cursor = Math.max(to, from + 1) * slotMinutes;
+            } else {
+                cursor = nextFreeSlot(busy) * slotMinutes;
+            }
+        }
+        return freeSlots;
+    }
+
+    @Override
+    public long countBookedMinutes(LocalDateTime from, LocalDateTime to) {
+        long fromSlot = startSlot(toEpochMinute(from));
+        long toSlot = endSlot(toEpochMinute(to));
+        long booked = 0;
+
+        for (long page = pageOf(fromSlot); fromSlot < toSlot; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(toSlot, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.get(page);
+
+            if (words != null) {
+                booked += SlotBits.countSet(words, (int) (fromSlot - pageStart), localTo);
+            }
+            fromSlot = pageStart + localTo;
+        }
+        return booked * slotMinutes;
+    }
+
+    @Override
+    public int countFreeBlocks(LocalDateTime from, LocalDateTime to) {
+        long fromSlot = startSlot(toEpochMinute(from));
+        long toSlot = endSlot(toEpochMinute(to));
+        boolean previousFree = false;
+        int blocks = 0;
+
+        for (long page = pageOf(fromSlot); fromSlot < toSlot; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(toSlot, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.get(page);
+
+            if (words == null) {
+                blocks += previousFree ? 0 : 1;
+                previousFree = true;
+            } else {
+                blocks += SlotBits.countClearRuns(words, (int) (fromSlot - pageStart), localTo, previousFree);
+                previousFree = !SlotBits.isSet(words, localTo - 1);
+            }
+            fromSlot = pageStart + localTo;
+        }
+        return blocks;
+    }
+
+    @Override
+    public void clear() {
+        pages.clear();
+    }
+
+    public void setRangeEnd(LocalDateTime rangeEnd) {
+        long newLastSlot = toSlot(rangeEnd, slotMinutes);
+
+        if (newLastSlot < firstSlot) {
+            throw new IllegalArgumentException("Calendar range end is before range start.");
+        }
+        lastSlot = newLastSlot;
+    }
+
+    public void setRangeStart(LocalDateTime rangeStart) {
+        long newFirstSlot = toSlot(rangeStart, slotMinutes);
+
+        if (newFirstSlot > lastSlot) {
+            throw new IllegalArgumentException("Calendar range start is after range end.");
+        }
+        firstSlot = newFirstSlot;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    private long nextOccupiedSlot(long from, long to) {
+        for (long page = pageOf(from); from < to; page++) {
+            long pageStart = page * slotsPerPage;
+            int localTo = (int) (Math.min(to, pageStart + slotsPerPage) - pageStart);
+            long[] words = pages.get(page);
+
+            if (words != null) {
+                int bit = SlotBits.nextSetBit(words, (int) (from - pageStart), localTo);
+                if (bit >= 0) {
+                    return pageStart + bit;
+                }
+            }
+            from = pageStart + localTo;
+        }
+        return to;
+    }
+
+    private long nextFreeSlot(long from) {
+        for (long page = pageOf(from); ; page++) {
+            long pageStart = page * slotsPerPage;
+            long[] words = pages.get(page);
+
+            if (words == null) {
+                return from;
+            }
+
+            int bit = SlotBits.nextClearBit(words, (int) (from - pageStart), slotsPerPage);
+            if (bit < slotsPerPage) {
+                return pageStart + bit;
+            }
+            from = pageStart + slotsPerPage;
+        }
+    }
+
+    private long pageOf(long slot) {
+        return Math.floorDiv(slot, slotsPerPage);
+    }
+
+    private long startSlot(long startMinute) {
+        return Math.floorDiv(startMinute, slotMinutes);
+    }
+
+    private long endSlot(long endMinute) {
+        return Math.ceilDiv(endMinute, slotMinutes);
+    }
+
+    private static long toSlot(LocalDateTime dateTime, int slotMinutes) {
+        if (dateTime == null) {
+            throw new IllegalArgumentException("Calendar range bounds must not be null.");
+        }
+        return Math.floorDiv(toEpochMinute(dateTime), slotMinutes);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
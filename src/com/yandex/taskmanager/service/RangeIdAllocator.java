@@ -0,0 +1,58 @@
+package com.yandex.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RangeIdAllocator implements IdAllocator {
+    private final int blockSize;
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final ThreadLocal<Lease> leases = ThreadLocal.withInitial(Lease::new);
+
+    public RangeIdAllocator(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Id block size must be positive.");
+        }
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int nextId() {
+        Lease lease = leases.get();
+        int currentGeneration = generation.get();
+
+        if (lease.next > lease.last || lease.generation != currentGeneration) {
+            int start = reserved.getAndAdd(blockSize);
+            lease.next = start + 1;
+            lease.last = start + blockSize;
+            lease.generation = currentGeneration;
+        }
+        return lease.next++;
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        return reserved.get();
+    }
+
+    @Override
+    public void advanceTo(int id) {
+        reserved.accumulateAndGet(id, Math::max);
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void reset() {
+        reserved.set(0);
+        generation.incrementAndGet();
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    private static class Lease {
+        int next = 1;
+        int last = 0;
+        int generation = -1;
+    }
+}
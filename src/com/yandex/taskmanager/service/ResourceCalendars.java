@@ -0,0 +1,85 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.RecurringTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class ResourceCalendars {
+    private final Supplier<TaskCalendar> calendarFactory;
+    private final TaskCalendar sharedCalendar;
+    private final Map<String, TaskCalendar> resourceCalendars = new HashMap<>();
+    private final Map<String, List<RecurringTask>> recurrences = new HashMap<>();
+
+    public ResourceCalendars(Supplier<TaskCalendar> calendarFactory) {
+        if (calendarFactory == null) {
+            throw new IllegalArgumentException("Calendar factory provided to Task Manager is null.");
+        }
+
+        this.calendarFactory = calendarFactory;
+        this.sharedCalendar = createCalendar();
+    }
+
+    public TaskCalendar forResource(String resource) {
+        if (resource == null) {
+            return sharedCalendar;
+        }
+        return resourceCalendars.computeIfAbsent(resource, key -> createCalendar());
+    }
+
+    public TaskCalendar lookup(String resource) {
+        if (resource == null) {
+            return sharedCalendar;
+        }
+
+        TaskCalendar calendar = resourceCalendars.get(resource);
+        return calendar != null ? calendar : createCalendar();
+    }
+
+    public void addRecurrence(RecurringTask task) {
+        recurrences.computeIfAbsent(task.getResource(), key -> new ArrayList<>()).add(task);
+    }
+
+    public void removeRecurrence(RecurringTask task) {
+        List<RecurringTask> resourceRecurrences = recurrences.get(task.getResource());
+
+        if (resourceRecurrences != null) {
+            resourceRecurrences.removeIf(recurrence -> recurrence.getId() == task.getId());
+            if (resourceRecurrences.isEmpty()) {
+                recurrences.remove(task.getResource());
+            }
+        }
+    }
+
+    public List<RecurringTask> getRecurrences(String resource) {
+        return recurrences.getOrDefault(resource, List.of());
+    }
+
+    public List<RecurringTask> getAllRecurrences() {
+        List<RecurringTask> allRecurrences = new ArrayList<>();
+        recurrences.values().forEach(allRecurrences::addAll);
+        return allRecurrences;
+    }
+
+    public int getResourceCount() {
+        return resourceCalendars.size();
+    }
+
+    public void clear() {
+        sharedCalendar.clear();
+        resourceCalendars.clear();
+        recurrences.clear();
+    }
+
+    private TaskCalendar createCalendar() {
+        TaskCalendar calendar = calendarFactory.get();
+
+        if (calendar == null) {
+            throw new IllegalArgumentException("Calendar factory returned null calendar.");
+        }
+        return calendar;
+    }
+}
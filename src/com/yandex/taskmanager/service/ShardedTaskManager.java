@@ -0,0 +1,411 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.CalendarUtilization;
+import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
+import com.yandex.taskmanager.model.IntervalConflicts;
+import com.yandex.taskmanager.model.IntervalProposal;
+import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class ShardedTaskManager implements TaskManager {
+    private final InMemoryTaskManager[] shards;
+    private final ReentrantReadWriteLock[] shardLocks;
+    private final ResourceCalendars calendars;
+    private final NavigableSet<Task> prioritizedTasks;
+    private final HistoryManager historyManager;
+    private final ReentrantReadWriteLock scheduleLock = new ReentrantReadWriteLock();
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedTaskManager(int shardCount) {
+        this(shardCount, InMemoryTaskManager::createDefaultCalendar);
+    }
+
+    public ShardedTaskManager(int shardCount, Supplier<TaskCalendar> calendarFactory) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Number of Task Manager shards must be positive.");
+        }
+
+        this.calendars = new ResourceCalendars(calendarFactory);
+        this.prioritizedTasks = new ConcurrentSkipListSet<>(InMemoryTaskManager.PRIORITY_ORDER);
+        this.historyManager = Managers.getDefaultHistoryManager();
+        this.shards = new InMemoryTaskManager[shardCount];
+        this.shardLocks = new ReentrantReadWriteLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new InMemoryTaskManager(calendars, prioritizedTasks, historyManager,
+                    new StridedIdAllocator(i, shardCount));
+            shardLocks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        int shard = nextShard();
+        return write(shard, task != null && task.hasTime(), () -> shards[shard].createTask(task));
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        int shard = epic != null && epic.hasParent() ? shardOf(epic.getParentId()) : nextShard();
+        return write(shard, false, () -> shards[shard].createEpic(epic));
+    }
+
+    @Override
+    public SubTask createSubTask(SubTask subTask) {
+        int shard = subTask != null ? shardOf(subTask.getEpicId()) : 0;
+        return write(shard, subTask != null && subTask.hasTime(), () -> shards[shard].createSubTask(subTask));
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return fanOut(TaskManager::getAllTasks, Comparator.comparing(Task::getType)
+                .thenComparingInt(Task::getId));
+    }
+
+    @Override
+    public TreeSet<Task> getPrioritizedTasks() {
+        return readSchedule(() -> schedule().getPrioritizedTasks());
+    }
+
+    @Override
+    public NavigableSet<Task> getPrioritized(LocalDateTime from, LocalDateTime to) {
+        return readSchedule(() -> schedule().getPrioritized(from, to));
+    }
+
+    @Override
+    public List<Task> nextAfter(LocalDateTime time, int limit) {
+        return readSchedule(() -> schedule().nextAfter(time, limit));
+    }
+
+    @Override
+    public List<Task> getTasks() {
+        return fanOut(TaskManager::getTasks, Comparator.comparingInt(Task::getId));
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return fanOut(TaskManager::getEpics, Comparator.comparingInt(Task::getId));
+    }
+
+    @Override
+    public List<SubTask> getSubTasks() {
+        return fanOut(TaskManager::getSubTasks, Comparator.comparingInt(Task::getId));
+    }
+
+    @Override
+    public List<Task> findTasks(TaskCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria must not be null.");
+        }
+        return snapshot().find(criteria).toList();
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public void clearHistory() {
+        historyManager.clearHistory();
+    }
+
+    @Override
+    public void deleteAllTasks() {
+        writeAll(() -> {
+            for (InMemoryTaskManager shard : shards) {
+                shard.clearTasks();
+            }
+            historyManager.clearHistory();
+            prioritizedTasks.clear();
+            calendars.clear();
+            nextShard.set(0);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Task> findAnyTaskById(int id) {
+        return read(shardOf(id), () -> shards[shardOf(id)].findAnyTaskById(id));
+    }
+
+    @Override
+    public Task getTaskById(int id) {
+        return read(shardOf(id), () -> shards[shardOf(id)].getTaskById(id));
+    }
+
+    @Override
+    public Epic getEpicById(int id) {
+        return read(shardOf(id), () -> shards[shardOf(id)].getEpicById(id));
+    }
+
+    @Override
+    public SubTask getSubTaskById(int id) {
+        return read(shardOf(id), () -> shards[shardOf(id)].getSubTaskById(id));
+    }
+
+    @Override
+    public List<SubTask> getEpicSubTasks(int id) {
+        return read(shardOf(id), () -> shards[shardOf(id)].getEpicSubTasks(id));
+    }
+
+    @Override
+    public EpicProgress getEpicProgress(int id, LocalDateTime now) {
+        return read(shardOf(id), () -> shards[shardOf(id)].getEpicProgress(id, now));
+    }
+
+    @Override
+    public List<EpicProgress> getEpicsProgress(LocalDateTime now) {
+        return fanOut(shard -> shard.getEpicsProgress(now), Comparator.comparingInt(EpicProgress::getEpicId));
+    }
+
+    @Override
+    public void deleteAnyTaskById(int id) {
+        write(shardOf(id), true, () -> shards[shardOf(id)].deleteAnyTaskById(id));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(shardOf(id), true, () -> shards[shardOf(id)].deleteTask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(shardOf(id), true, () -> shards[shardOf(id)].deleteEpic(id));
+    }
+
+    @Override
+    public void deleteSubTask(int id) {
+        write(shardOf(id), true, () -> shards[shardOf(id)].deleteSubTask(id));
+    }
+
+    @Override
+    public void updateTask(Task newTask) {
+        int shard = newTask != null ? shardOf(newTask.getId()) : 0;
+        write(shard, true, () -> shards[shard].updateTask(newTask));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        int shard = epic != null ? shardOf(epic.getId()) : 0;
+        write(shard, false, () -> shards[shard].updateEpic(epic));
+    }
+
+    @Override
+    public void updateSubTask(SubTask subTask) {
+        int shard = subTask != null ? shardOf(subTask.getId()) : 0;
+        write(shard, true, () -> shards[shard].updateSubTask(subTask));
+    }
+
+    @Override
+    public Optional<LocalDateTime> findEarliestFreeSlot(Duration duration, LocalDateTime notBefore) {
+        return readSchedule(() -> schedule().findEarliestFreeSlot(duration, notBefore));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(Duration duration, LocalDateTime notBefore, int limit) {
+        return readSchedule(() -> schedule().findFreeSlots(duration, notBefore, limit));
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(String resource, Duration duration, LocalDateTime notBefore, int limit) {
+        return readSchedule(() -> schedule().findFreeSlots(resource, duration, notBefore, limit));
+    }
+
+    @Override
+    public List<Task> getRecurringOccurrences(LocalDateTime from, LocalDateTime to) {
+        return readSchedule(() -> schedule().getRecurringOccurrences(from, to));
+    }
+
+    @Override
+    public List<CalendarUtilization> getCalendarUtilization(String resource, LocalDateTime from, LocalDateTime to,
+                                                            ChronoUnit period) {
+        return readSchedule(() -> schedule().getCalendarUtilization(resource, from, to, period));
+    }
+
+    @Override
+    public List<IntervalConflicts> validateIntervals(List<IntervalProposal> proposals) {
+        return readSchedule(() -> schedule().validateIntervals(proposals));
+    }
+
+    @Override
+    public List<Task> autoSchedule(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                                   Comparator<? super Task> order) {
+        if (ids == null) {
+            throw new IllegalArgumentException("List of ids to schedule is null.");
+        }
+        return writeAll(() -> scheduleAcrossShards(ids, duration, notBefore, order));
+    }
+
+    @Override
+    public List<Task> autoScheduleEpic(int epicId, Duration duration, LocalDateTime notBefore,
+                                       Comparator<? super Task> order) {
+        return write(shardOf(epicId), true,
+                () -> shards[shardOf(epicId)].autoScheduleEpic(epicId, duration, notBefore, order));
+    }
+
+    @Override
+    public TaskSnapshot snapshot() {
+        List<TaskSnapshot> snapshots = new ArrayList<>(shards.length);
+        for (InMemoryTaskManager shard : shards) {
+            snapshots.add(shard.snapshot());
+        }
+        return TaskSnapshot.merge(snapshots);
+    }
+
+    @Override
+    public int getIdCounter() {
+        int idCounter = 0;
+        for (int i = 0; i < shards.length; i++) {
+            int shard = i;
+            idCounter = Math.max(idCounter, read(shard, () -> shards[shard].getIdCounter()));
+        }
+        return idCounter;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(int id) {
+        return id > 0 ? (id - 1) % shards.length : 0;
+    }
+
+    private List<Task> scheduleAcrossShards(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                                            Comparator<? super Task> order) {
+        List<Task> candidates = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                throw new IllegalArgumentException("List of ids to schedule contains null.");
+            }
+            candidates.add(shards[shardOf(id)].findSchedulableTask(id));
+        }
+
+        List<Task> scheduled = schedule().planSchedule(candidates, duration, notBefore, order);
+        Map<Integer, List<Task>> scheduledByShard = new HashMap<>();
+        for (Task task : scheduled) {
+            scheduledByShard.computeIfAbsent(shardOf(task.getId()), key -> new ArrayList<>()).add(task);
+        }
+
+        // the plan is already booked on the shared calendar; undo committed shards if a later one fails
+        List<Integer> committed = new ArrayList<>();
+        try {
+            for (Map.Entry<Integer, List<Task>> entry : scheduledByShard.entrySet()) {
+                shards[entry.getKey()].commitSchedule(entry.getValue());
+                committed.add(entry.getKey());
+            }
+        } catch (RuntimeException ex) {
+            for (int shard : committed) {
+                shards[shard].commitSchedule(originalsOf(scheduledByShard.get(shard), candidates));
+            }
+            schedule().cancelSchedule(scheduled);
+            throw ex;
+        }
+        return scheduled;
+    }
+
+    private static List<Task> originalsOf(List<Task> scheduled, List<Task> candidates) {
+        Map<Integer, Task> originals = new HashMap<>();
+        for (Task candidate : candidates) {
+            originals.put(candidate.getId(), candidate);
+        }
+        return scheduled.stream()
+                .map(task -> originals.get(task.getId()))
+                .toList();
+    }
+
+    // calendars and the prioritized set are shared, so any shard can answer schedule queries
+    private InMemoryTaskManager schedule() {
+        return shards[0];
+    }
+
+    private int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), shards.length);
+    }
+
+    private <T> List<T> fanOut(Function<TaskManager, List<? extends T>> query, Comparator<? super T> order) {
+        return IntStream.range(0, shards.length)
+                .parallel()
+                .mapToObj(shard -> read(shard, () -> query.apply(shards[shard])))
+                .flatMap(List::stream)
+                .sorted(order)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    private <R> R read(int shard, Supplier<R> action) {
+        ReentrantReadWriteLock.ReadLock lock = shardLocks[shard].readLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <R> R readSchedule(Supplier<R> action) {
+        scheduleLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            scheduleLock.readLock().unlock();
+        }
+    }
+
+    private <R> R write(int shard, boolean touchesSchedule, Supplier<R> action) {
+        if (touchesSchedule) {
+            scheduleLock.writeLock().lock();
+        }
+        shardLocks[shard].writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            shardLocks[shard].writeLock().unlock();
+            if (touchesSchedule) {
+                scheduleLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void write(int shard, boolean touchesSchedule, Runnable action) {
+        write(shard, touchesSchedule, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <R> R writeAll(Supplier<R> action) {
+        scheduleLock.writeLock().lock();
+        for (ReentrantReadWriteLock lock : shardLocks) {
+            lock.writeLock().lock();
+        }
+        try {
+            return action.get();
+        } finally {
+            for (int i = shardLocks.length - 1; i >= 0; i--) {
+                shardLocks[i].writeLock().unlock();
+            }
+            scheduleLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.yandex.taskmanager.service;
+
+final class SlotBits {
+    private SlotBits() {
+    }
+
+    static boolean anySet(long[] words, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            return (words[firstWord] & firstMask & lastMask) != 0;
+        }
+
+        if ((words[firstWord] & firstMask) != 0) {
+            return true;
+        }
+
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (words[i] != 0) {
+                return true;
+            }
+        }
+
+        return (words[lastWord] & lastMask) != 0;
+    }
+
+    static void setRange(long[] words, int from, int to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            applyMask(words, firstWord, firstMask & lastMask, value);
+            return;
+        }
+
+        applyMask(words, firstWord, firstMask, value);
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = value ? -1L : 0L;
+        }
+        applyMask(words, lastWord, lastMask, value);
+    }
+
+    static int nextSetBit(long[] words, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+
+        int wordIndex = from >>> 6;
+        long word = words[wordIndex] & (-1L << from);
+
+        while (true) {
+            if (word != 0) {
+                int bit = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return bit < to ? bit : -1;
+            }
+            if (++wordIndex > (to - 1) >>> 6) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    static int nextClearBit(long[] words, int from, int to) {
+        if (from >= to) {
+            return to;
+        }
+
+        int wordIndex = from >>> 6;
+        long word = ~words[wordIndex] & (-1L << from);
+
+        while (true) {
+            if (word != 0) {
+                int bit = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return Math.min(bit, to);
+            }
+            if (++wordIndex > (to - 1) >>> 6) {
+                return to;
+            }
+            word = ~words[wordIndex];
+        }
+    }
+
+    static int countSet(long[] words, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        int count = 0;
+
+        for (int i = firstWord; i <= lastWord; i++) {
+            long word = words[i];
+            if (i == firstWord) {
+                word &= -1L << from;
+            }
+            if (i == lastWord) {
+                word &= -1L >>> -to;
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static int countClearRuns(long[] words, int from, int to, boolean previousClear) {
+        if (from >= to) {
+            return 0;
+        }
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        int runs = 0;
+        long carry = previousClear ? 1L : 0L;
+
+        for (int i = firstWord; i <= lastWord; i++) {
+            long clear = ~words[i];
+            long preceding = (clear << 1) | carry;
+            long mask = -1L;
+
+            if (i == firstWord) {
+                mask &= -1L << from;
+                long fromBit = 1L << from;
+                preceding = previousClear ? preceding | fromBit : preceding & ~fromBit;
+            }
+            if (i == lastWord) {
+                mask &= -1L >>> -to;
+            }
+
+            runs += Long.bitCount(clear & ~preceding & mask);
+            carry = clear >>> 63;
+        }
+        return runs;
+    }
+
+    static boolean isSet(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void applyMask(long[] words, int word, long mask, boolean value) {
+        if (value) {
+            words[word] |= mask;
+        } else {
+            words[word] &= ~mask;
+        }
+    }
+}
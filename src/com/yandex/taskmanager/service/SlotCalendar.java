@@ -0,0 +1,122 @@
+package com.yandex.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SlotCalendar implements TaskCalendar {
+    private final int slotMinutes;
+    private final long firstSlot;
+    private final int slotCount;
+    private final long[] occupied;
+
+    public SlotCalendar(LocalDateTime rangeStart, LocalDateTime rangeEnd, int slotMinutes) {
+        if (rangeStart == null || rangeEnd == null) {
+            throw new IllegalArgumentException("Calendar range bounds must not be null.");
+        }
+
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Calendar slot length must be positive.");
+        }
+
+        if (rangeEnd.isBefore(rangeStart)) {
+            throw new IllegalArgumentException("Calendar range end is before range start.");
+        }
+
+        this.slotMinutes = slotMinutes;
+        this.firstSlot = Math.floorDiv(toEpochMinute(rangeStart), slotMinutes);
+        long lastSlot = Math.floorDiv(toEpochMinute(rangeEnd), slotMinutes);
+        this.slotCount = Math.toIntExact(lastSlot - firstSlot + 1);
+        this.occupied = new long[(slotCount + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    @Override
+    public boolean isIntervalFree(long startMinute, long endMinute) {
+        int from = startSlot(startMinute);
+        int to = endSlot(endMinute);
+
+        if (from < 0 || from >= slotCount || to < 0 || to >= slotCount) {
+            throw new IllegalArgumentException("Task time is outside of calendar range.");
+        }
+
+        return !SlotBits.anySet(occupied, from, to);
+    }
+
+    @Override
+    public void markInterval(long startMinute, long endMinute) {
+        int from = Math.max(startSlot(startMinute), 0);
+        int to = Math.min(endSlot(endMinute), slotCount);
+        SlotBits.setRange(occupied, from, to, true);
+    }
+
+    @Override
+    public void freeInterval(long startMinute, long endMinute) {
+        int from = Math.max(startSlot(startMinute), 0);
+        int to = Math.min(endSlot(endMinute), slotCount);
+        SlotBits.setRange(occupied, from, to, false);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(LocalDateTime notBefore, Duration duration, int limit) {
+        List<LocalDateTime> freeSlots = new ArrayList<>();
+        long length = duration.toMinutes();
+        long cursor = Math.max(Math.ceilDiv(notBefore.toEpochSecond(ZoneOffset.UTC), 60), firstSlot * slotMinutes);
+
+        while (freeSlots.size() < limit) {
+            int from = toSlotIndex(Math.floorDiv(cursor, slotMinutes));
+            int to = toSlotIndex(Math.ceilDiv(cursor + length, slotMinutes));
+
+            if (from >= slotCount || to >= slotCount) {
+                break;
+            }
+
+            int busy = SlotBits.nextSetBit(occupied, from, to);
+            if (busy < 0) {
+                freeSlots.add(LocalDateTime.ofEpochSecond(cursor * 60, 0, ZoneOffset.UTC));
+                cursor = (firstSlot + Math.max(to, from + 1)) * slotMinutes;
+            } else {
+                cursor = (firstSlot + SlotBits.nextClearBit(occupied, busy, slotCount)) * slotMinutes;
+            }
+        }
+        return freeSlots;
+    }
+
+    @Override
+    public long countBookedMinutes(LocalDateTime from, LocalDateTime to) {
+        int fromSlot = Math.max(startSlot(toEpochMinute(from)), 0);
+        int toSlot = Math.min(endSlot(toEpochMinute(to)), slotCount);
+        return (long) SlotBits.countSet(occupied, fromSlot, toSlot) * slotMinutes;
+    }
+
+    @Override
+    public int countFreeBlocks(LocalDateTime from, LocalDateTime to) {
+        int fromSlot = Math.max(startSlot(toEpochMinute(from)), 0);
+        int toSlot = Math.min(endSlot(toEpochMinute(to)), slotCount);
+        return SlotBits.countClearRuns(occupied, fromSlot, toSlot, false);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(occupied, 0L);
+    }
+
+    private int startSlot(long startMinute) {
+        return toSlotIndex(Math.floorDiv(startMinute, slotMinutes));
+    }
+
+    private int endSlot(long endMinute) {
+        return toSlotIndex(Math.ceilDiv(endMinute, slotMinutes));
+    }
+
+    private int toSlotIndex(long slot) {
+        long index = slot - firstSlot;
+        return (int) Math.max(-1, Math.min(index, Integer.MAX_VALUE));
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
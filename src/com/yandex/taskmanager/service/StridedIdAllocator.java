@@ -0,0 +1,52 @@
+package com.yandex.taskmanager.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StridedIdAllocator implements IdAllocator {
+    private final int offset;
+    private final int stride;
+    private final AtomicInteger issued = new AtomicInteger();
+
+    public StridedIdAllocator(int offset, int stride) {
+        if (stride <= 0 || offset < 0 || offset >= stride) {
+            throw new IllegalArgumentException("Id offset must be between 0 and stride, stride must be positive.");
+        }
+
+        this.offset = offset;
+        this.stride = stride;
+    }
+
+    @Override
+    public int nextId() {
+        return idAt(issued.getAndIncrement());
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        int count = issued.get();
+        return count == 0 ? 0 : idAt(count - 1);
+    }
+
+    @Override
+    public void advanceTo(int id) {
+        int count = Math.max(Math.floorDiv(id - offset - 1, stride) + 1, 0);
+        issued.accumulateAndGet(count, Math::max);
+    }
+
+    @Override
+    public void reset() {
+        issued.set(0);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    private int idAt(int index) {
+        return Math.addExact(Math.multiplyExact(index, stride), offset + 1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.yandex.taskmanager.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+public interface TaskCalendar {
+    boolean isIntervalFree(long startMinute, long endMinute);
+
+    void markInterval(long startMinute, long endMinute);
+
+    void freeInterval(long startMinute, long endMinute);
+
+    List<LocalDateTime> findFreeSlots(LocalDateTime notBefore, Duration duration, int limit);
+
+    long countBookedMinutes(LocalDateTime from, LocalDateTime to);
+
+    int countFreeBlocks(LocalDateTime from, LocalDateTime to);
+
+    void clear();
+
+    default boolean isIntervalFree(LocalDateTime startTime, LocalDateTime endTime) {
+        return isIntervalFree(toStartMinute(startTime), toEndMinute(endTime));
+    }
+
+    default void markInterval(LocalDateTime startTime, LocalDateTime endTime) {
+        markInterval(toStartMinute(startTime), toEndMinute(endTime));
+    }
+
+    default void freeInterval(LocalDateTime startTime, LocalDateTime endTime) {
+        freeInterval(toStartMinute(startTime), toEndMinute(endTime));
+    }
+
+    private static long toStartMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long toEndMinute(LocalDateTime dateTime) {
+        return Math.ceilDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+}
@@ -0,0 +1,101 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.util.MergingIterator;
+import com.yandex.taskmanager.util.PersistentIntMap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class TaskIndex {
+    private static final Status[] STATUSES = Status.values();
+    private static final Comparator<Task> ID_ORDER = Comparator.comparingInt(Task::getId);
+    private static final TaskIndex EMPTY = new TaskIndex(PersistentIntMap.empty(), emptyBuckets());
+    private final PersistentIntMap<Task> tasks;
+    private final PersistentIntMap<Task>[] buckets;
+
+    private TaskIndex(PersistentIntMap<Task> tasks, PersistentIntMap<Task>[] buckets) {
+        this.tasks = tasks;
+        this.buckets = buckets;
+    }
+
+    public static TaskIndex empty() {
+        return EMPTY;
+    }
+
+    public Task get(int id) {
+        return tasks.get(id);
+    }
+
+    public TaskIndex put(int id, Task task) {
+        Task oldTask = tasks.get(id);
+        if (oldTask == task) {
+            return this;
+        }
+
+        PersistentIntMap<Task>[] newBuckets = buckets.clone();
+        if (oldTask != null) {
+            int oldBucket = bucketOf(oldTask.getType(), oldTask.getStatus());
+            newBuckets[oldBucket] = newBuckets[oldBucket].remove(id);
+        }
+
+        int newBucket = bucketOf(task.getType(), task.getStatus());
+        newBuckets[newBucket] = newBuckets[newBucket].put(id, task);
+        return new TaskIndex(tasks.put(id, task), newBuckets);
+    }
+
+    public TaskIndex remove(int id) {
+        Task oldTask = tasks.get(id);
+        if (oldTask == null) {
+            return this;
+        }
+
+        PersistentIntMap<Task>[] newBuckets = buckets.clone();
+        int oldBucket = bucketOf(oldTask.getType(), oldTask.getStatus());
+        newBuckets[oldBucket] = newBuckets[oldBucket].remove(id);
+        return new TaskIndex(tasks.remove(id), newBuckets);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public void forEachValue(Consumer<? super Task> action) {
+        tasks.forEachValue(action);
+    }
+
+    public Stream<Task> stream() {
+        return tasks.stream();
+    }
+
+    public Stream<Task> stream(Status status, TaskType type) {
+        if (status != null) {
+            return buckets[bucketOf(type, status)].stream();
+        }
+
+        List<PersistentIntMap<Task>> typeBuckets = Stream.of(STATUSES)
+                .map(bucketStatus -> buckets[bucketOf(type, bucketStatus)])
+                .filter(bucket -> !bucket.isEmpty())
+                .toList();
+        if (typeBuckets.size() == 1) {
+            return typeBuckets.get(0).stream();
+        }
+        return MergingIterator.merge(typeBuckets.stream().map(PersistentIntMap::iterator).toList(), ID_ORDER);
+    }
+
+    private static int bucketOf(TaskType type, Status status) {
+        return type.ordinal() * STATUSES.length + status.ordinal();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static PersistentIntMap<Task>[] emptyBuckets() {
+        PersistentIntMap<Task>[] buckets = new PersistentIntMap[TaskType.values().length * STATUSES.length];
+        Arrays.fill(buckets, PersistentIntMap.empty());
+        return buckets;
+    }
+}
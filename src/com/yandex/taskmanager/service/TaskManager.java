@@ -1,10 +1,21 @@
 package com.yandex.taskmanager.service;
 
+import com.yandex.taskmanager.model.CalendarUtilization;
 import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
+import com.yandex.taskmanager.model.IntervalConflicts;
+import com.yandex.taskmanager.model.IntervalProposal;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.TreeSet;
 
@@ -19,12 +30,18 @@ public interface TaskManager {
 
     TreeSet<Task> getPrioritizedTasks();
 
+    NavigableSet<Task> getPrioritized(LocalDateTime from, LocalDateTime to);
+
+    List<Task> nextAfter(LocalDateTime time, int limit);
+
     List<Task> getTasks();
 
     List<Epic> getEpics();
 
     List<SubTask> getSubTasks();
 
+    List<Task> findTasks(TaskCriteria criteria);
+
     List<Task> getHistory();
 
     void clearHistory();
@@ -41,6 +58,10 @@ public interface TaskManager {
 
     List<SubTask> getEpicSubTasks(int id);
 
+    EpicProgress getEpicProgress(int id, LocalDateTime now);
+
+    List<EpicProgress> getEpicsProgress(LocalDateTime now);
+
     void deleteAnyTaskById(int id);
 
     void deleteTask(int id);
@@ -55,5 +76,26 @@ public interface TaskManager {
 
     void updateSubTask(SubTask subTask);
 
+    Optional<LocalDateTime> findEarliestFreeSlot(Duration duration, LocalDateTime notBefore);
+
+    List<LocalDateTime> findFreeSlots(Duration duration, LocalDateTime notBefore, int limit);
+
+    List<LocalDateTime> findFreeSlots(String resource, Duration duration, LocalDateTime notBefore, int limit);
+
+    List<Task> getRecurringOccurrences(LocalDateTime from, LocalDateTime to);
+
+    List<CalendarUtilization> getCalendarUtilization(String resource, LocalDateTime from, LocalDateTime to,
+                                                     ChronoUnit period);
+
+    List<IntervalConflicts> validateIntervals(List<IntervalProposal> proposals);
+
+    List<Task> autoSchedule(Collection<Integer> ids, Duration duration, LocalDateTime notBefore,
+                            Comparator<? super Task> order);
+
+    List<Task> autoScheduleEpic(int epicId, Duration duration, LocalDateTime notBefore,
+                                Comparator<? super Task> order);
+
+    TaskSnapshot snapshot();
+
     int getIdCounter();
 }
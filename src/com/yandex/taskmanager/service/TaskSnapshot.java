@@ -0,0 +1,72 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
+import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.util.MergingIterator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public final class TaskSnapshot {
+    private static final Comparator<Task> ID_ORDER = Comparator.comparingInt(Task::getId);
+    private final long version;
+    private final List<TaskIndex> segments;
+
+    public TaskSnapshot(long version, TaskIndex tasks) {
+        this(version, List.of(tasks));
+    }
+
+    private TaskSnapshot(long version, List<TaskIndex> segments) {
+        this.version = version;
+        this.segments = segments;
+    }
+
+    public static TaskSnapshot merge(List<TaskSnapshot> snapshots) {
+        return new TaskSnapshot(snapshots.stream().mapToLong(TaskSnapshot::getVersion).sum(),
+                snapshots.stream().flatMap(snapshot -> snapshot.segments.stream()).toList());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return segments.stream().mapToInt(TaskIndex::size).sum();
+    }
+
+    public Optional<Task> findTask(int id) {
+        return segments.stream()
+                .map(segment -> segment.get(id))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    public Stream<Task> stream() {
+        return Stream.of(TaskType.values()).flatMap(this::stream);
+    }
+
+    public Stream<Task> stream(TaskType type) {
+        return find(null, type);
+    }
+
+    public Stream<Task> find(TaskCriteria criteria) {
+        if (criteria.getType() != null) {
+            return find(criteria.getStatus(), criteria.getType());
+        }
+        return Stream.of(TaskType.values()).flatMap(type -> find(criteria.getStatus(), type));
+    }
+
+    private Stream<Task> find(Status status, TaskType type) {
+        if (segments.size() == 1) {
+            return segments.get(0).stream(status, type);
+        }
+        return MergingIterator.merge(segments.stream()
+                .map(segment -> segment.stream(status, type).iterator())
+                .toList(), ID_ORDER);
+    }
+}
@@ -0,0 +1,98 @@
+package com.yandex.taskmanager.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public final class IntArraySet {
+    private static final IntArraySet EMPTY = new IntArraySet(new int[0], 0, new AtomicInteger());
+    private final int[] values;
+    private final int size;
+    private final AtomicInteger used;
+
+    private IntArraySet(int[] values, int size, AtomicInteger used) {
+        this.values = values;
+        this.size = size;
+        this.used = used;
+    }
+
+    public static IntArraySet empty() {
+        return EMPTY;
+    }
+
+    public IntArraySet with(int value) {
+        if (size > 0 && values[size - 1] >= value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+
+            int insertAt = -index - 1;
+            int[] copy = new int[Math.max(4, size * 2)];
+            System.arraycopy(values, 0, copy, 0, insertAt);
+            copy[insertAt] = value;
+            System.arraycopy(values, insertAt, copy, insertAt + 1, size - insertAt);
+            return new IntArraySet(copy, size + 1, new AtomicInteger(size + 1));
+        }
+
+        if (size < values.length && used.compareAndSet(size, size + 1)) {
+            values[size] = value;
+            return new IntArraySet(values, size + 1, used);
+        }
+
+        int[] copy = Arrays.copyOf(values, Math.max(4, size * 2));
+        copy[size] = value;
+        return new IntArraySet(copy, size + 1, new AtomicInteger(size + 1));
+    }
+
+    public IntArraySet without(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index < 0) {
+            return this;
+        }
+
+        if (index == size - 1) {
+            return new IntArraySet(values, size - 1, used);
+        }
+
+        int[] copy = new int[Math.max(4, size)];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, size - index - 1);
+        return new IntArraySet(copy, size - 1, new AtomicInteger(size - 1));
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
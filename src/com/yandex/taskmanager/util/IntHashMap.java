@@ -0,0 +1,169 @@
+package com.yandex.taskmanager.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+public class IntHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+    private static final Object REMOVED = new Object();
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int removed;
+
+    public IntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size of map must not be negative.");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = find(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported by IntHashMap.");
+        }
+
+        int freeSlot = -1;
+        int slot = key & mask;
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (values[slot] == REMOVED) {
+                if (freeSlot < 0) {
+                    freeSlot = slot;
+                }
+            } else if (keys[slot] == key) {
+                V oldValue = (V) values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+        }
+
+        if (freeSlot >= 0) {
+            slot = freeSlot;
+            removed--;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+
+        if ((size + removed) * 4 > values.length * 3) {
+            resize(capacityFor(size));
+        }
+        return null;
+    }
+
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        V value = get(key);
+
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = find(key);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        V oldValue = (V) values[slot];
+        values[slot] = values[(slot + 1) & mask] == null ? null : REMOVED;
+        if (values[slot] == REMOVED) {
+            removed++;
+        }
+        size--;
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+        removed = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null && value != REMOVED) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEachValue(result::add);
+        return result;
+    }
+
+    private int find(int key) {
+        for (int slot = key & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (values[slot] != REMOVED && keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null && oldValues[i] != REMOVED) {
+                int slot = oldKeys[i] & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        removed = 0;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 8) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,64 @@
+package com.yandex.taskmanager.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class MergingIterator<T> implements Iterator<T> {
+    private final List<Iterator<? extends T>> sources;
+    private final List<T> heads;
+    private final Comparator<? super T> order;
+
+    private MergingIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        this.sources = new ArrayList<>(sources.size());
+        this.heads = new ArrayList<>(sources.size());
+        this.order = order;
+
+        for (Iterator<? extends T> source : sources) {
+            if (source.hasNext()) {
+                this.sources.add(source);
+                this.heads.add(source.next());
+            }
+        }
+    }
+
+    public static <T> Stream<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new MergingIterator<>(sources, order),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (heads.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        int smallest = 0;
+        for (int i = 1; i < heads.size(); i++) {
+            if (order.compare(heads.get(i), heads.get(smallest)) < 0) {
+                smallest = i;
+            }
+        }
+
+        T value = heads.get(smallest);
+        Iterator<? extends T> source = sources.get(smallest);
+        if (source.hasNext()) {
+            heads.set(smallest, source.next());
+        } else {
+            heads.remove(smallest);
+            sources.remove(smallest);
+        }
+        return value;
+    }
+}
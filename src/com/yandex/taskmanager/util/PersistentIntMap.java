@@ -0,0 +1,209 @@
+package com.yandex.taskmanager.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class PersistentIntMap<V> implements Iterable<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(new Object[WIDTH], 0, 0);
+    private final Object[] root;
+    private final int shift;
+    private final int size;
+
+    private PersistentIntMap(Object[] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key < 0 || !fits(key, shift)) {
+            return null;
+        }
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(key >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (V) node[key & MASK];
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public PersistentIntMap<V> put(int key, V value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative keys are not supported by PersistentIntMap.");
+        }
+
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported by PersistentIntMap.");
+        }
+
+        V oldValue = get(key);
+        if (oldValue == value) {
+            return this;
+        }
+
+        Object[] newRoot = root;
+        int newShift = shift;
+        while (!fits(key, newShift)) {
+            Object[] grown = new Object[WIDTH];
+            grown[0] = size == 0 ? null : newRoot;
+            newRoot = grown;
+            newShift += BITS;
+        }
+        return new PersistentIntMap<>(assoc(newRoot, newShift, key, value), newShift,
+                oldValue == null ? size + 1 : size);
+    }
+
+    public PersistentIntMap<V> remove(int key) {
+        if (get(key) == null) {
+            return this;
+        }
+
+        if (size == 1) {
+            return empty();
+        }
+        return new PersistentIntMap<>(dissoc(root, shift, key), shift, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEachValue(Consumer<? super V> action) {
+        forEachValue(root, shift, action);
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEachValue(result::add);
+        return result;
+    }
+
+    public Stream<V> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new TrieIterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEachValue(Object[] node, int level, Consumer<? super V> action) {
+        for (Object slot : node) {
+            if (slot == null) {
+                continue;
+            }
+
+            if (level == 0) {
+                action.accept((V) slot);
+            } else {
+                forEachValue((Object[]) slot, level - BITS, action);
+            }
+        }
+    }
+
+    private static Object[] assoc(Object[] node, int level, int key, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int index = (key >>> level) & MASK;
+        copy[index] = level == 0 ? value : assoc((Object[]) copy[index], level - BITS, key, value);
+        return copy;
+    }
+
+    private static Object[] dissoc(Object[] node, int level, int key) {
+        int index = (key >>> level) & MASK;
+        Object[] copy = node.clone();
+        copy[index] = level == 0 ? null : dissoc((Object[]) node[index], level - BITS, key);
+
+        for (Object slot : copy) {
+            if (slot != null) {
+                return copy;
+            }
+        }
+        return null;
+    }
+
+    private static boolean fits(int key, int shift) {
+        return shift + BITS >= Integer.SIZE - 1 || key >>> (shift + BITS) == 0;
+    }
+
+    private class TrieIterator implements Iterator<V> {
+        private final Object[][] nodes = new Object[shift / BITS + 1][];
+        private final int[] positions = new int[shift / BITS + 1];
+        private int depth;
+        private Object next;
+
+        private TrieIterator() {
+            nodes[0] = root;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            V value = (V) next;
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                int position = positions[depth]++;
+                if (position == WIDTH) {
+                    depth--;
+                    continue;
+                }
+
+                Object slot = nodes[depth][position];
+                if (slot == null) {
+                    continue;
+                }
+
+                if (depth == nodes.length - 1) {
+                    next = slot;
+                    return;
+                }
+                depth++;
+                nodes[depth] = (Object[]) slot;
+                positions[depth] = 0;
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.yandex.taskmanager.web;
 
 import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.Status;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
 import com.yandex.taskmanager.model.TaskType;
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.web.dto.TaskDto;
@@ -13,6 +15,7 @@ import com.google.gson.Gson;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.yandex.taskmanager.exceptions.NotFoundException;
@@ -86,34 +89,40 @@ class AllTasksHandler extends BaseHttpHandler implements HttpHandler {
         Task task = manager.findAnyTaskById(id)
                 .orElseThrow(() -> new NotFoundException("Task with id: " + id + " not found in TaskManager."));
 
-        TaskDto dto;
-        if (task instanceof Epic epic) {
-            dto = TaskDto.fromEpic(epic);
-        } else if (task instanceof SubTask subTask) {
-            dto = TaskDto.fromSubTask(subTask);
-        } else {
-            dto = TaskDto.fromTask(task);
-        }
-
-        sendText(httpExchange, gson.toJson(dto));
+        sendText(httpExchange, gson.toJson(TaskDto.from(task)));
     }
 
     private void sendAllTasks(HttpExchange httpExchange) throws IOException {
-        List<TaskDto> dtoList = manager.getAllTasks().stream()
-                .map(task -> {
-                    if (task instanceof Epic) {
-                        return TaskDto.fromEpic((Epic) task);
-                    } else if (task instanceof SubTask) {
-                        return TaskDto.fromSubTask((SubTask) task);
-                    } else {
-                        return TaskDto.fromTask(task);
-                    }
-                })
+        Map<String, String> params = parseQuery(httpExchange);
+        Status status = params.containsKey("status") ? parseStatus(params.get("status")) : null;
+        TaskType type = params.containsKey("type") ? parseTaskType(params.get("type")) : null;
+
+        List<Task> tasks = status == null && type == null
+                ? manager.snapshot().stream().toList()
+                : manager.findTasks(new TaskCriteria(status, type));
+        List<TaskDto> dtoList = tasks.stream()
+                .map(TaskDto::from)
                 .collect(Collectors.toList());
 
         sendText(httpExchange, gson.toJson(dtoList));
     }
 
+    private Status parseStatus(String value) {
+        try {
+            return Status.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid status: " + value + ". 'NEW', 'IN_PROGRESS' or 'DONE' expected.");
+        }
+    }
+
+    private TaskType parseTaskType(String value) {
+        try {
+            return TaskType.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid type: " + value + ". 'TASK', 'EPIC' or 'SUBTASK' expected.");
+        }
+    }
+
     private void createAnyTask(HttpExchange httpExchange) throws IOException {
         String jsonResponse;
 
@@ -173,8 +182,9 @@ class AllTasksHandler extends BaseHttpHandler implements HttpHandler {
                 case TaskType.EPIC:
                     String name = dto.getName();
                     String description = dto.getDescription();
+                    int parentId = dto.getEpicId() != null ? dto.getEpicId() : Epic.NO_PARENT;
 
-                    Epic epicToUpdate = new Epic(id, name, description);
+                    Epic epicToUpdate = new Epic(id, name, description, parentId);
                     manager.updateEpic(epicToUpdate);
                     sendOk(httpExchange, "Epic with id: " + id + " updated.");
                     break;
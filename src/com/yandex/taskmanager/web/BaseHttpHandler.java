@@ -2,13 +2,21 @@ package com.yandex.taskmanager.web;
 
 import com.google.gson.Gson;
 import com.yandex.taskmanager.web.dto.TaskDto;
+import com.yandex.taskmanager.web.json.GsonAdapters;
 
 import com.sun.net.httpserver.HttpExchange;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.google.gson.JsonSyntaxException;
 
@@ -55,6 +63,16 @@ class BaseHttpHandler {
         }
     }
 
+    protected <T> T readJson(HttpExchange httpExchange, Gson gson, Type type) throws IOException {
+        try {
+            InputStream is = httpExchange.getRequestBody();
+            String body = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            return gson.fromJson(body, type);
+        } catch (JsonSyntaxException ex) {
+            throw new IllegalArgumentException("Invalid JSON format. " + ex.getMessage());
+        }
+    }
+
     protected Integer parseId(String path) {
         try {
             String[] parts = path.split("/");
@@ -64,6 +82,50 @@ class BaseHttpHandler {
         }
     }
 
+    protected Map<String, String> parseQuery(HttpExchange httpExchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = httpExchange.getRequestURI().getRawQuery();
+
+        if (query == null || query.isBlank()) {
+            return params;
+        }
+
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    protected LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value, GsonAdapters.DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date format: " + value + ". 'dd.MM.yyyy HH:mm' expected.");
+        }
+    }
+
+    protected Duration parseDuration(String value) {
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid duration format: " + value + ". Use ISO-8601, e.g. 'PT15M'.");
+        }
+    }
+
+    protected int parsePositiveInt(String name, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("'" + name + "' must be a positive integer.");
+    }
+
     private void sendResponseWithJson(HttpExchange exchange, String text, int code) throws IOException {
         byte[] resp = text.getBytes(StandardCharsets.UTF_8);
         exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
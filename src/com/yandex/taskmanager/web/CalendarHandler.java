@@ -0,0 +1,156 @@
+package com.yandex.taskmanager.web;
+
+import com.yandex.taskmanager.service.TaskManager;
+import com.yandex.taskmanager.model.IntervalProposal;
+import com.yandex.taskmanager.web.dto.ConflictDto;
+import com.yandex.taskmanager.web.dto.ProposalDto;
+import com.yandex.taskmanager.web.dto.TaskDto;
+import com.yandex.taskmanager.web.dto.TimeSlotDto;
+import com.yandex.taskmanager.web.dto.UtilizationDto;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+class CalendarHandler extends BaseHttpHandler implements HttpHandler {
+    private final TaskManager manager;
+    private final Gson gson;
+
+    CalendarHandler(TaskManager manager, Gson gson) {
+        this.manager = manager;
+        this.gson = gson;
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        try {
+            String method = httpExchange.getRequestMethod();
+            String rawPath = httpExchange.getRequestURI().getPath();
+            String path = rawPath.replaceAll("/+$", "");
+
+            switch (method) {
+                case "GET":
+                    if (path.matches("^/calendar/free$")) {
+                        sendFreeSlots(httpExchange);
+                    } else if (path.matches("^/calendar/utilization$")) {
+                        sendUtilization(httpExchange);
+                    } else if (path.matches("^/calendar/occurrences$")) {
+                        sendOccurrences(httpExchange);
+                    } else {
+                        sendInvalidPathFormat(httpExchange, "Bad request: wrong path format");
+                    }
+                    break;
+                case "POST":
+                    if (path.matches("^/calendar/validate$")) {
+                        sendValidation(httpExchange);
+                    } else {
+                        sendInvalidPathFormat(httpExchange, "Bad request: wrong path format");
+                    }
+                    break;
+                case "HEAD":
+                    httpExchange.sendResponseHeaders(200, -1);
+                    break;
+                default:
+                    sendMethodNotAllowed(httpExchange, "Method: " + method + " not allowed.");
+            }
+        } catch (IllegalArgumentException ex) {
+            sendInvalidPathFormat(httpExchange, ex.getMessage());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            sendInternalServerError(httpExchange);
+        }
+    }
+
+    private void sendFreeSlots(HttpExchange httpExchange) throws IOException {
+        Map<String, String> params = parseQuery(httpExchange);
+
+        if (!params.containsKey("duration")) {
+            throw new IllegalArgumentException("'duration' is required to search for free slots.");
+        }
+
+        Duration duration = parseDuration(params.get("duration"));
+        LocalDateTime after = params.containsKey("after")
+                ? parseDateTime(params.get("after")) : LocalDateTime.now();
+        int limit = params.containsKey("limit") ? parsePositiveInt("limit", params.get("limit")) : 1;
+
+        String resource = params.get("resource");
+
+        List<TimeSlotDto> dtoList = manager.findFreeSlots(resource, duration, after, limit).stream()
+                .map(startTime -> TimeSlotDto.of(startTime, duration))
+                .toList();
+
+        sendText(httpExchange, gson.toJson(dtoList));
+    }
+
+    private void sendUtilization(HttpExchange httpExchange) throws IOException {
+        Map<String, String> params = parseQuery(httpExchange);
+
+        if (!params.containsKey("from") || !params.containsKey("to")) {
+            throw new IllegalArgumentException("'from' and 'to' are required to calculate utilization.");
+        }
+
+        LocalDateTime from = parseDateTime(params.get("from"));
+        LocalDateTime to = parseDateTime(params.get("to"));
+        ChronoUnit period = parsePeriod(params.getOrDefault("period", "day"));
+        String resource = params.get("resource");
+
+        List<UtilizationDto> dtoList = manager.getCalendarUtilization(resource, from, to, period).stream()
+                .map(UtilizationDto::fromUtilization)
+                .toList();
+
+        sendText(httpExchange, gson.toJson(dtoList));
+    }
+
+    private void sendOccurrences(HttpExchange httpExchange) throws IOException {
+        Map<String, String> params = parseQuery(httpExchange);
+
+        if (!params.containsKey("from") || !params.containsKey("to")) {
+            throw new IllegalArgumentException("'from' and 'to' are required to expand recurring tasks.");
+        }
+
+        LocalDateTime from = parseDateTime(params.get("from"));
+        LocalDateTime to = parseDateTime(params.get("to"));
+
+        List<TaskDto> dtoList = manager.getRecurringOccurrences(from, to).stream()
+                .map(TaskDto::fromTask)
+                .toList();
+
+        sendText(httpExchange, gson.toJson(dtoList));
+    }
+
+    private void sendValidation(HttpExchange httpExchange) throws IOException {
+        List<ProposalDto> dtoList = readJson(httpExchange, gson, new TypeToken<List<ProposalDto>>() {
+        }.getType());
+
+        if (dtoList == null) {
+            sendInvalidPathFormat(httpExchange, "Empty or malformed JSON, can't validate intervals.");
+            return;
+        }
+
+        List<IntervalProposal> proposals = dtoList.stream()
+                .map(ProposalDto::toProposal)
+                .toList();
+        List<ConflictDto> conflicts = manager.validateIntervals(proposals).stream()
+                .map(ConflictDto::fromConflicts)
+                .toList();
+
+        sendText(httpExchange, gson.toJson(conflicts));
+    }
+
+    private ChronoUnit parsePeriod(String value) {
+        return switch (value) {
+            case "day" -> ChronoUnit.DAYS;
+            case "week" -> ChronoUnit.WEEKS;
+            case "month" -> ChronoUnit.MONTHS;
+            default -> throw new IllegalArgumentException("Invalid period: " + value + ". 'day', 'week' or 'month' expected.");
+        };
+    }
+}
@@ -2,8 +2,12 @@ package com.yandex.taskmanager.web;
 
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
+import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.web.dto.EpicProgressDto;
 import com.yandex.taskmanager.web.dto.TaskDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,6 +40,8 @@ class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                 case "GET":
                     if (path.matches("^/epics$")) {
                         sendEpics(httpExchange);
+                    } else if (path.matches("^/epics/progress$")) {
+                        sendProgress(httpExchange);
                     } else if (path.matches("^/epics/\\d+$")) {
                         int id = parseId(path);
                         Epic epic = manager.getEpicById(id);
@@ -43,6 +49,10 @@ class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                     } else if (path.matches("^/epics/\\d+/subtasks$")) {
                         int id = parseId(path);
                         sendSubTasks(httpExchange, id);
+                    } else if (path.matches("^/epics/\\d+/progress$")) {
+                        int id = parseId(path);
+                        EpicProgress progress = manager.getEpicProgress(id, LocalDateTime.now());
+                        sendText(httpExchange, gson.toJson(EpicProgressDto.fromProgress(progress)));
                     } else {
                         sendInvalidPathFormat(httpExchange, "Bad request: wrong path format");
                     }
@@ -83,8 +93,8 @@ class EpicsHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void sendEpics(HttpExchange httpExchange) throws IOException {
-        List<TaskDto> dtoList = manager.getEpics().stream()
-                .map(TaskDto::fromEpic)
+        List<TaskDto> dtoList = manager.snapshot().stream(TaskType.EPIC)
+                .map(TaskDto::from)
                 .collect(Collectors.toList());
         sendText(httpExchange, gson.toJson(dtoList));
     }
@@ -97,6 +107,13 @@ class EpicsHandler extends BaseHttpHandler implements HttpHandler {
         sendText(httpExchange, gson.toJson(dtoList));
     }
 
+    private void sendProgress(HttpExchange httpExchange) throws IOException {
+        List<EpicProgressDto> dtoList = manager.getEpicsProgress(LocalDateTime.now()).stream()
+                .map(EpicProgressDto::fromProgress)
+                .collect(Collectors.toList());
+        sendText(httpExchange, gson.toJson(dtoList));
+    }
+
     private void createEpic(HttpExchange httpExchange) throws IOException {
         try {
             TaskDto dtoEpic = readDto(httpExchange, gson);
@@ -125,8 +142,9 @@ class EpicsHandler extends BaseHttpHandler implements HttpHandler {
 
             String name = dtoEpic.getName();
             String description = dtoEpic.getDescription();
+            int parentId = dtoEpic.getEpicId() != null ? dtoEpic.getEpicId() : Epic.NO_PARENT;
 
-            Epic epicToUpdate = new Epic(id, name, description);
+            Epic epicToUpdate = new Epic(id, name, description, parentId);
             manager.updateEpic(epicToUpdate);
             sendOk(httpExchange, "Epic with id: " + id + " updated.");
         } catch (IllegalArgumentException ex) {
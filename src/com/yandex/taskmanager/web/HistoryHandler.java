@@ -1,7 +1,5 @@
 package com.yandex.taskmanager.web;
 
-import com.yandex.taskmanager.model.SubTask;
-import com.yandex.taskmanager.model.Epic;
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.web.dto.TaskDto;
 
@@ -59,15 +57,7 @@ class HistoryHandler extends BaseHttpHandler implements HttpHandler {
 
     private void sendHistory(HttpExchange httpExchange) throws IOException {
         List<TaskDto> dtoList = manager.getHistory().stream()
-                .map(task -> {
-                    if (task instanceof Epic) {
-                        return TaskDto.fromEpic((Epic) task);
-                    } else if (task instanceof SubTask) {
-                        return TaskDto.fromSubTask((SubTask) task);
-                    } else {
-                        return TaskDto.fromTask(task);
-                    }
-                })
+                .map(TaskDto::from)
                 .collect(Collectors.toList());
 
         sendText(httpExchange, gson.toJson(dtoList));
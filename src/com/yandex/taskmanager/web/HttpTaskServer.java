@@ -8,13 +8,24 @@ import com.yandex.taskmanager.web.json.GsonAdapters;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
     private static final int PORT = 8080;
     private final HttpServer httpServer;
+    private final ExecutorService executor;
     private final Gson gson = GsonAdapters.createGson();
 
     public HttpTaskServer(TaskManager manager) {
+        this(manager, 1);
+    }
+
+    public HttpTaskServer(TaskManager manager, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of server threads must be positive.");
+        }
+
         try {
             httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
             httpServer.createContext("/tasks", new TasksHandler(manager, gson));
@@ -23,9 +34,13 @@ public class HttpTaskServer {
             httpServer.createContext("/history", new HistoryHandler(manager, gson));
             httpServer.createContext("/prioritized", new PrioritizedHandler(manager, gson));
             httpServer.createContext("/all", new AllTasksHandler(manager, gson));
+            httpServer.createContext("/calendar", new CalendarHandler(manager, gson));
         } catch (IOException ex) {
             throw new RuntimeException("Can't start the server at PORT: " + PORT, ex);
         }
+
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        httpServer.setExecutor(executor);
     }
 
     public void start() {
@@ -35,6 +50,9 @@ public class HttpTaskServer {
 
     public void stop() {
         httpServer.stop(0);
+        if (executor != null) {
+            executor.shutdown();
+        }
         System.out.println("HTTP server is stopped.");
     }
 
@@ -43,8 +61,8 @@ public class HttpTaskServer {
     }
 
     public static void main(String[] args) {
-        TaskManager manager = Managers.getDefaultTaskManager();
-        HttpTaskServer server = new HttpTaskServer(manager);
+        TaskManager manager = Managers.getConcurrentTaskManager();
+        HttpTaskServer server = new HttpTaskServer(manager, Runtime.getRuntime().availableProcessors());
         server.start();
     }
 }
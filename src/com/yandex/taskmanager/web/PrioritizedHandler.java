@@ -1,7 +1,8 @@
 package com.yandex.taskmanager.web;
 
-import com.yandex.taskmanager.model.SubTask;
-import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.RecurringTask;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskType;
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.web.dto.TaskDto;
 
@@ -10,8 +11,13 @@ import com.sun.net.httpserver.HttpHandler;
 import com.google.gson.Gson;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
@@ -43,6 +49,8 @@ class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
                 default:
                     sendMethodNotAllowed(httpExchange, "Method: " + method + " not allowed.");
             }
+        } catch (IllegalArgumentException ex) {
+            sendInvalidPathFormat(httpExchange, ex.getMessage());
         } catch (Exception ex) {
             ex.printStackTrace();
             sendInternalServerError(httpExchange);
@@ -50,18 +58,91 @@ class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void sendPrioritizedTasks(HttpExchange httpExchange) throws IOException {
-        List<TaskDto> dtoList = manager.getPrioritizedTasks().stream()
-                .map(task -> {
-                    if (task instanceof Epic) {
-                        return TaskDto.fromEpic((Epic) task);
-                    } else if (task instanceof SubTask) {
-                        return TaskDto.fromSubTask((SubTask) task);
-                    } else {
-                        return TaskDto.fromTask(task);
-                    }
-                })
+        Map<String, String> params = parseQuery(httpExchange);
+        LocalDateTime from = params.containsKey("from") ? parseDateTime(params.get("from")) : null;
+        LocalDateTime to = params.containsKey("to") ? parseDateTime(params.get("to")) : null;
+        int limit = params.containsKey("limit") ? parsePositiveInt("limit", params.get("limit")) : Integer.MAX_VALUE;
+
+        List<Task> tasks = manager.getPrioritized(from, to).stream()
+                .limit(limit)
+                .toList();
+        List<Task> occurrences = findOccurrences(from, to, tasks, limit);
+        Stream<Task> merged = tasks.stream();
+
+        if (!occurrences.isEmpty()) {
+            merged = Stream.concat(merged, occurrences.stream())
+                    .sorted(Comparator.comparingLong(Task::getStartMinute).thenComparingInt(Task::getId));
+        }
+
+        List<TaskDto> dtoList = merged
+                .limit(limit)
+                .map(TaskDto::from)
                 .collect(Collectors.toList());
 
         sendText(httpExchange, gson.toJson(dtoList));
     }
+
+    private List<Task> findOccurrences(LocalDateTime from, LocalDateTime to, List<Task> tasks, int limit) {
+        LocalDateTime windowStart = from;
+        LocalDateTime windowEnd = to;
+
+        if (tasks.size() == limit && !tasks.isEmpty()) {
+            LocalDateTime limitEnd = tasks.getLast().getStartTime().plusMinutes(1);
+            if (windowEnd == null || limitEnd.isBefore(windowEnd)) {
+                windowEnd = limitEnd;
+            }
+        }
+
+        if (windowStart == null || windowEnd == null) {
+            List<RecurringTask> recurrences = manager.snapshot().stream(TaskType.TASK)
+                    .filter(task -> task instanceof RecurringTask && task.hasTime())
+                    .map(RecurringTask.class::cast)
+                    .toList();
+
+            if (recurrences.isEmpty()) {
+                return List.of();
+            }
+
+            if (windowStart == null) {
+                windowStart = recurrences.stream()
+                        .map(Task::getStartTime)
+                        .min(Comparator.naturalOrder())
+                        .orElseThrow();
+            }
+
+            if (windowEnd == null) {
+                LocalDateTime start = windowStart;
+                windowEnd = recurrences.stream()
+                        .map(recurrence -> limitEnd(recurrence, start, limit))
+                        .filter(Objects::nonNull)
+                        .min(Comparator.naturalOrder())
+                        .orElseGet(() -> recurrences.stream()
+                                .map(RecurringTask::getLastEndTime)
+                                .max(Comparator.naturalOrder())
+                                .orElseThrow());
+            }
+        }
+
+        if (!windowEnd.isAfter(windowStart)) {
+            return List.of();
+        }
+
+        LocalDateTime occurrencesFrom = windowStart;
+        return manager.getRecurringOccurrences(windowStart, windowEnd).stream()
+                .filter(occurrence -> !occurrence.getStartTime().isBefore(occurrencesFrom))
+                .toList();
+    }
+
+    private static LocalDateTime limitEnd(RecurringTask recurrence, LocalDateTime from, int limit) {
+        if (limit == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        long first = Math.max(0, Math.ceilDiv(Task.toEpochMinute(from) - recurrence.getStartMinute(),
+                recurrence.getRepeatInterval().toMinutes()));
+        long last = first + limit - 1;
+        return last < recurrence.getRepeatCount()
+                ? recurrence.getOccurrenceStart((int) last).plusMinutes(1)
+                : null;
+    }
 }
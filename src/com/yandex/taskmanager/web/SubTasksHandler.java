@@ -1,6 +1,7 @@
 package com.yandex.taskmanager.web;
 
 import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.TaskType;
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.web.dto.TaskDto;
 
@@ -79,8 +80,8 @@ class SubTasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void sendSubTasks(HttpExchange httpExchange) throws IOException {
-        List<TaskDto> dtoList = manager.getSubTasks().stream()
-                .map(TaskDto::fromSubTask)
+        List<TaskDto> dtoList = manager.snapshot().stream(TaskType.SUBTASK)
+                .map(TaskDto::from)
                 .collect(Collectors.toList());
 
         sendText(httpExchange, gson.toJson(dtoList));
@@ -1,6 +1,7 @@
 package com.yandex.taskmanager.web;
 
 import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskType;
 import com.yandex.taskmanager.service.TaskManager;
 import com.yandex.taskmanager.web.dto.TaskDto;
 
@@ -78,7 +79,7 @@ class TasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void sendTasks(HttpExchange httpExchange) throws IOException {
-        List<TaskDto> dtoList = manager.getTasks().stream()
+        List<TaskDto> dtoList = manager.snapshot().stream(TaskType.TASK)
                 .map(TaskDto::fromTask)
                 .collect(Collectors.toList());
 
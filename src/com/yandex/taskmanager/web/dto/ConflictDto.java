@@ -0,0 +1,37 @@
+package com.yandex.taskmanager.web.dto;
+
+import com.yandex.taskmanager.model.IntervalConflicts;
+
+import java.util.List;
+
+public class ConflictDto {
+    public int index;
+    public List<Integer> taskIds;
+    public List<Integer> proposalIndexes;
+    public boolean schedulable;
+
+    public static ConflictDto fromConflicts(IntervalConflicts conflicts) {
+        ConflictDto dto = new ConflictDto();
+        dto.index = conflicts.getProposalIndex();
+        dto.taskIds = conflicts.getTaskIds();
+        dto.proposalIndexes = conflicts.getProposalIndexes();
+        dto.schedulable = conflicts.isSchedulable();
+        return dto;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public List<Integer> getTaskIds() {
+        return taskIds;
+    }
+
+    public List<Integer> getProposalIndexes() {
+        return proposalIndexes;
+    }
+
+    public boolean isSchedulable() {
+        return schedulable;
+    }
+}
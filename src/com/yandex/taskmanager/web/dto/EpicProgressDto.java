@@ -0,0 +1,47 @@
+package com.yandex.taskmanager.web.dto;
+
+import com.yandex.taskmanager.model.EpicProgress;
+
+public class EpicProgressDto {
+    public int epicId;
+    public int subTaskCount;
+    public int doneSubTasks;
+    public double percentDone;
+    public long remainingMinutes;
+    public TaskDto nextSubTask;
+
+    public static EpicProgressDto fromProgress(EpicProgress progress) {
+        EpicProgressDto dto = new EpicProgressDto();
+        dto.epicId = progress.getEpicId();
+        dto.subTaskCount = progress.getSubTaskCount();
+        dto.doneSubTasks = progress.getDoneSubTasks();
+        dto.percentDone = progress.getPercentDone();
+        dto.remainingMinutes = progress.getRemainingMinutes();
+        dto.nextSubTask = progress.getNextSubTask() != null ? TaskDto.fromSubTask(progress.getNextSubTask()) : null;
+        return dto;
+    }
+
+    public int getEpicId() {
+        return epicId;
+    }
+
+    public int getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public int getDoneSubTasks() {
+        return doneSubTasks;
+    }
+
+    public double getPercentDone() {
+        return percentDone;
+    }
+
+    public long getRemainingMinutes() {
+        return remainingMinutes;
+    }
+
+    public TaskDto getNextSubTask() {
+        return nextSubTask;
+    }
+}
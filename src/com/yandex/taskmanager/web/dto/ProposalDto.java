@@ -0,0 +1,31 @@
+package com.yandex.taskmanager.web.dto;
+
+import com.yandex.taskmanager.model.IntervalProposal;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class ProposalDto {
+    public LocalDateTime startTime;
+    public Duration duration;
+    public String resource;
+
+    public static IntervalProposal toProposal(ProposalDto proposalDto) {
+        if (proposalDto == null) {
+            return null;
+        }
+        return new IntervalProposal(proposalDto.startTime, proposalDto.duration, proposalDto.resource);
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+}
@@ -1,5 +1,6 @@
 package com.yandex.taskmanager.web.dto;
 
+import com.yandex.taskmanager.model.RecurringTask;
 import com.yandex.taskmanager.model.Task;
 import com.yandex.taskmanager.model.Epic;
 import com.yandex.taskmanager.model.SubTask;
@@ -19,6 +20,17 @@ public class TaskDto {
     public LocalDateTime startTime;
     public Duration duration;
     public LocalDateTime endTime;
+    public String resource;
+    public Duration repeatInterval;
+    public Integer repeatCount;
+
+    public static TaskDto from(Task task) {
+        return switch (task.getType()) {
+            case TASK -> fromTask(task);
+            case EPIC -> fromEpic((Epic) task);
+            case SUBTASK -> fromSubTask((SubTask) task);
+        };
+    }
 
     public static TaskDto fromTask(Task task) {
         TaskDto dto = new TaskDto();
@@ -31,6 +43,12 @@ public class TaskDto {
         dto.startTime = task.getStartTime();
         dto.duration = task.getDuration();
         dto.endTime = task.getEndTime();
+        dto.resource = task.getResource();
+
+        if (task instanceof RecurringTask recurringTask) {
+            dto.repeatInterval = recurringTask.getRepeatInterval();
+            dto.repeatCount = recurringTask.getRepeatCount();
+        }
         return dto;
     }
 
@@ -38,7 +56,7 @@ public class TaskDto {
         TaskDto dto = new TaskDto();
         dto.taskType = TaskType.EPIC;
         dto.id = epic.getId();
-        dto.epicId = null;
+        dto.epicId = epic.hasParent() ? epic.getParentId() : null;
         dto.name = epic.getName();
         dto.description = epic.getDescription();
         dto.status = epic.getStatus();
@@ -59,6 +77,7 @@ public class TaskDto {
         dto.startTime = subTask.getStartTime();
         dto.duration = subTask.getDuration();
         dto.endTime = subTask.getEndTime();
+        dto.resource = subTask.getResource();
         return dto;
     }
 
@@ -67,13 +86,20 @@ public class TaskDto {
         String description = taskDto.getDescription();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new Task(name, description, startTime, duration);
+        String resource = taskDto.getResource();
+
+        if (taskDto.getRepeatInterval() != null) {
+            return new RecurringTask(name, description, startTime, duration, resource, taskDto.getRepeatInterval(),
+                    taskDto.getRepeatCount() != null ? taskDto.getRepeatCount() : 0);
+        }
+        return new Task(name, description, startTime, duration, resource);
     }
 
     public static Epic toNewEpic(TaskDto taskDto) {
         String name = taskDto.getName();
         String description = taskDto.getDescription();
-        return new Epic(name, description);
+        int parentId = taskDto.getEpicId() != null ? taskDto.getEpicId() : Epic.NO_PARENT;
+        return new Epic(name, description, parentId);
     }
 
     public static SubTask toNewSubTask(TaskDto taskDto) {
@@ -86,7 +112,8 @@ public class TaskDto {
         int epicId = taskDto.getEpicId();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new SubTask(name, description, epicId, startTime, duration);
+        String resource = taskDto.getResource();
+        return new SubTask(name, description, epicId, startTime, duration, resource);
     }
 
     public static Task toTask(TaskDto taskDto) {
@@ -96,7 +123,13 @@ public class TaskDto {
         Status status = taskDto.getStatus();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new Task(id, name, description, status, startTime, duration);
+        String resource = taskDto.getResource();
+
+        if (taskDto.getRepeatInterval() != null) {
+            return new RecurringTask(id, name, description, status, startTime, duration, resource,
+                    taskDto.getRepeatInterval(), taskDto.getRepeatCount() != null ? taskDto.getRepeatCount() : 0);
+        }
+        return new Task(id, name, description, status, startTime, duration, resource);
     }
 
     public static SubTask toSubTask(TaskDto taskDto) {
@@ -111,7 +144,8 @@ public class TaskDto {
         Status status = taskDto.getStatus();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new SubTask(id, name, description, status, epicId, startTime, duration);
+        String resource = taskDto.getResource();
+        return new SubTask(id, name, description, status, epicId, startTime, duration, resource);
     }
 
     public static Epic toEpic(TaskDto taskDto) {
@@ -122,11 +156,11 @@ public class TaskDto {
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
         LocalDateTime endTime = taskDto.getEndTime();
+        int parentId = taskDto.getEpicId() != null ? taskDto.getEpicId() : Epic.NO_PARENT;
 
-        Epic epic = new Epic(id, name, description);
-        epic.setStatus(status);
-        epic.setEpicTime(startTime, duration, endTime);
-        return epic;
+        return new Epic(id, name, description, parentId)
+                .withStatus(status)
+                .withEpicTime(startTime, duration, endTime);
     }
 
     public static Task toTaskWithId(TaskDto taskDto, int id) {
@@ -135,7 +169,13 @@ public class TaskDto {
         Status status = taskDto.getStatus();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new Task(id, name, description, status, startTime, duration);
+        String resource = taskDto.getResource();
+
+        if (taskDto.getRepeatInterval() != null) {
+            return new RecurringTask(id, name, description, status, startTime, duration, resource,
+                    taskDto.getRepeatInterval(), taskDto.getRepeatCount() != null ? taskDto.getRepeatCount() : 0);
+        }
+        return new Task(id, name, description, status, startTime, duration, resource);
     }
 
     public static SubTask toSubTaskWithId(TaskDto taskDto, int id) {
@@ -149,7 +189,8 @@ public class TaskDto {
         Status status = taskDto.getStatus();
         LocalDateTime startTime = taskDto.getStartTime();
         Duration duration = taskDto.getDuration();
-        return new SubTask(id, name, description, status, epicId, startTime, duration);
+        String resource = taskDto.getResource();
+        return new SubTask(id, name, description, status, epicId, startTime, duration, resource);
     }
 
     public TaskType getTaskType() {
@@ -187,4 +228,16 @@ public class TaskDto {
     public LocalDateTime getEndTime() {
         return endTime;
     }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public Duration getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public Integer getRepeatCount() {
+        return repeatCount;
+    }
 }
@@ -0,0 +1,24 @@
+package com.yandex.taskmanager.web.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class TimeSlotDto {
+    public LocalDateTime startTime;
+    public LocalDateTime endTime;
+
+    public static TimeSlotDto of(LocalDateTime startTime, Duration duration) {
+        TimeSlotDto dto = new TimeSlotDto();
+        dto.startTime = startTime;
+        dto.endTime = startTime.plus(duration);
+        return dto;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+}
@@ -0,0 +1,49 @@
+package com.yandex.taskmanager.web.dto;
+
+import com.yandex.taskmanager.model.CalendarUtilization;
+
+import java.time.LocalDateTime;
+
+public class UtilizationDto {
+    public LocalDateTime periodStart;
+    public LocalDateTime periodEnd;
+    public long bookedMinutes;
+    public long freeMinutes;
+    public int freeBlocks;
+    public double utilization;
+
+    public static UtilizationDto fromUtilization(CalendarUtilization utilization) {
+        UtilizationDto dto = new UtilizationDto();
+        dto.periodStart = utilization.getPeriodStart();
+        dto.periodEnd = utilization.getPeriodEnd();
+        dto.bookedMinutes = utilization.getBookedMinutes();
+        dto.freeMinutes = utilization.getFreeMinutes();
+        dto.freeBlocks = utilization.getFreeBlocks();
+        dto.utilization = utilization.getUtilization();
+        return dto;
+    }
+
+    public LocalDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public LocalDateTime getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public long getFreeMinutes() {
+        return freeMinutes;
+    }
+
+    public int getFreeBlocks() {
+        return freeBlocks;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+}
@@ -17,6 +17,7 @@ import com.google.gson.JsonSyntaxException;
 import java.time.format.DateTimeParseException;
 
 public class GsonAdapters {
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
     public static Gson createGson() {
         return new GsonBuilder()
@@ -27,14 +28,12 @@ public class GsonAdapters {
     }
 
     private static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
-        private static final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-
         @Override
         public void write(final JsonWriter jsonWriter, final LocalDateTime localDateTime) throws IOException {
             if (localDateTime == null) {
                 jsonWriter.nullValue();
             } else {
-                jsonWriter.value(localDateTime.format(dtf));
+                jsonWriter.value(localDateTime.format(DATE_TIME_FORMATTER));
             }
         }
 
@@ -46,7 +45,7 @@ public class GsonAdapters {
             }
             String dateStr = jsonReader.nextString();
             try {
-                return LocalDateTime.parse(dateStr, dtf);
+                return LocalDateTime.parse(dateStr, DATE_TIME_FORMATTER);
             } catch (DateTimeParseException ex) {
                 throw new JsonSyntaxException("Invalid date format: " + dateStr + ". 'dd.MM.yyyy HH:mm' expected.");
             }
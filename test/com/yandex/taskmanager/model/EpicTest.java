@@ -13,4 +13,21 @@ class EpicTest {
         assertEquals(epic1.getId(), epic2.getId(), "Задачи должны быть равны если их id одинаковы.");
         assertEquals(epic1, epic2, "Задачи должны быть равны если их id одинаковы.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void subTaskStatusCountersAreAdjustedByDeltas() {
+        Epic epic = new Epic(1, "Эпик", "Описание")
+                .withSubTaskStatus(null, Status.NEW)
+                .withSubTaskStatus(null, Status.NEW)
+                .withSubTaskStatus(Status.NEW, Status.DONE);
+
+        assertEquals(1, epic.getSubTaskCount(Status.NEW), "Должна остаться одна новая подзадача.");
+        assertEquals(1, epic.getSubTaskCount(Status.DONE), "Должна быть одна выполненная подзадача.");
+
+        epic = epic.withSubTaskStatus(Status.DONE, null);
+        Epic copy = new Epic(new Epic("Новое имя", "Описание"), epic);
+
+        assertEquals(1, copy.getSubTaskCount(), "Счётчики должны переноситься при обновлении эпика.");
+        assertEquals(1, copy.getSubTaskCount(Status.NEW), "Счётчики должны переноситься при обновлении эпика.");
+    }
+}
@@ -0,0 +1,59 @@
+package com.yandex.taskmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurringTaskTest {
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Test
+    public void overlapIsCalculatedWithoutExpansion() {
+        RecurringTask standup = new RecurringTask("Стендап", "Описание", start, Duration.ofMinutes(15),
+                Duration.ofDays(1), 5);
+
+        assertEquals(2, standup.findOverlappingOccurrence(start.plusDays(2).plusMinutes(14),
+                start.plusDays(2).plusHours(1)), "Должно находиться третье повторение.");
+        assertFalse(standup.overlaps(start.plusMinutes(15), start.plusDays(1)),
+                "Интервал между повторениями должен быть свободен.");
+        assertFalse(standup.overlaps(start.plusDays(5), start.plusDays(6)),
+                "После последнего повторения интервал должен быть свободен.");
+        assertTrue(standup.overlaps(start.minusDays(1), start.plusDays(10)),
+                "Длинный интервал должен пересекаться с повторениями.");
+        assertEquals(start.plusDays(4).plusMinutes(15), standup.getLastEndTime(),
+                "Последнее повторение должно заканчиваться через 4 дня.");
+    }
+
+    @Test
+    public void recurrencesOverlapOnlyWhenOccurrencesMeet() {
+        RecurringTask daily = new RecurringTask("Стендап", "Описание", start, Duration.ofMinutes(15),
+                Duration.ofDays(1), 10);
+        RecurringTask weekly = new RecurringTask("Обзор", "Описание", start.plusMinutes(15), Duration.ofHours(1),
+                Duration.ofDays(7), 4);
+        RecurringTask shifted = new RecurringTask("Обзор", "Описание", start.plusDays(3).plusMinutes(5),
+                Duration.ofMinutes(30), Duration.ofDays(7), 4);
+
+        assertFalse(daily.overlaps(weekly), "Смежные повторения не должны пересекаться.");
+        assertTrue(daily.overlaps(shifted), "Повторения в одно время должны пересекаться.");
+        assertTrue(shifted.overlaps(daily), "Пересечение повторений должно быть взаимным.");
+    }
+
+    @Test
+    public void occurrencesAreExpandedOnlyInsideWindow() {
+        RecurringTask standup = new RecurringTask(3, "Стендап", "Описание", Status.NEW, start,
+                Duration.ofMinutes(15), null, Duration.ofDays(1), 100);
+
+        List<Task> occurrences = standup.getOccurrences(start.plusDays(10), start.plusDays(13));
+
+        assertEquals(3, occurrences.size(), "В окне из трёх дней должно быть 3 повторения.");
+        assertEquals(start.plusDays(10), occurrences.getFirst().getStartTime(),
+                "Первое повторение должно начинаться в начале окна.");
+        assertEquals(3, occurrences.getFirst().getId(), "Повторение должно сохранять id правила.");
+    }
+}
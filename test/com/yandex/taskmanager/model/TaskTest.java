@@ -2,7 +2,13 @@ package com.yandex.taskmanager.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class TaskTest {
     @Test
@@ -13,4 +19,21 @@ class TaskTest {
         assertEquals(task1.getId(), task2.getId(), "Задачи должны быть равны если их id одинаковы.");
         assertEquals(task1, task2, "Задачи должны быть равны если их id одинаковы.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void timeIsStoredInEpochMinutes() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0, 42);
+        Task task = new Task("Имя", "Описание", start, Duration.ofMinutes(90));
+
+        assertEquals(Task.toEpochMinute(start.withSecond(0)), task.getStartMinute(),
+                "Начало должно храниться в минутах эпохи без секунд.");
+        assertEquals(task.getStartMinute() + 90, task.getEndMinute(), "Конец должен храниться в минутах эпохи.");
+        assertEquals(start.withSecond(0).plusMinutes(90), task.getEndTime(),
+                "Время окончания должно восстанавливаться из минут.");
+        assertSame(task.getEndTime(), task.getEndTime(), "Время окончания должно создаваться один раз.");
+
+        Task noTime = new Task("Имя", "Описание");
+        assertFalse(noTime.hasTime(), "Задача без времени не должна иметь интервала.");
+        assertNull(noTime.getEndTime(), "У задачи без времени не должно быть окончания.");
+    }
+}
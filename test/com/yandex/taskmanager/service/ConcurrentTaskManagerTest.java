@@ -0,0 +1,106 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    @Override
+    protected ConcurrentTaskManager createManager() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager());
+    }
+
+    @Test
+    public void parallelWritersAndReadersKeepManagerConsistent() throws Exception {
+        int threads = 8;
+        int epicsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread * epicsPerThread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < epicsPerThread; i++) {
+                    Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+                    SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId(),
+                            now.plusHours(offset + i), Duration.ofMinutes(30)));
+                    manager.updateSubTask(new SubTask(subTask.getId(), "Подзадача", "Описание", Status.DONE,
+                            epic.getId(), subTask.getStartTime(), subTask.getDuration()));
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < epicsPerThread; i++) {
+                    manager.getPrioritizedTasks();
+                    manager.getEpicsProgress(now);
+                    manager.findAnyTaskById(i + 1);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int expectedEpics = threads * epicsPerThread;
+        Set<Integer> ids = new HashSet<>();
+        manager.getAllTasks().stream().map(Task::getId).forEach(ids::add);
+
+        assertEquals(expectedEpics * 2, ids.size(), "Все задачи должны получить уникальные id.");
+        assertEquals(expectedEpics * 2, manager.getIdCounter(), "Счётчик id должен учитывать все задачи.");
+        assertEquals(expectedEpics, manager.getPrioritizedTasks().size(), "Все подзадачи должны быть в приоритетах.");
+        assertEquals(expectedEpics, manager.getEpics().stream()
+                .filter(epic -> epic.getStatus() == Status.DONE)
+                .count(), "Все эпики должны быть завершены.");
+    }
+
+    @Test
+    public void snapshotReadsDoNotWaitForWriters() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentTaskManager blocked = new ConcurrentTaskManager(new InMemoryTaskManager() {
+            @Override
+            public Task createTask(Task task) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.createTask(task);
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<?> writer = executor.submit(() -> blocked.createTask(new Task("Задача", "Описание")));
+            writing.await();
+            Future<Integer> reader = executor.submit(() -> blocked.snapshot().size()
+                    + blocked.findTasks(new TaskCriteria(null, null)).size());
+
+            assertEquals(0, reader.get(5, TimeUnit.SECONDS), "Чтение снимка не должно ждать записи.");
+            release.countDown();
+            writer.get();
+            assertEquals(1, blocked.snapshot().size(), "После записи снимок должен обновиться.");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
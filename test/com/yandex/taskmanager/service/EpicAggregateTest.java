@@ -0,0 +1,65 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EpicAggregateTest {
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Test
+    public void boundsFollowAddedAndRemovedSubTasks() {
+        EpicAggregate aggregate = new EpicAggregate();
+        SubTask first = new SubTask(1, "1", "Описание", 10, start, Duration.ofMinutes(30));
+        SubTask same = new SubTask(2, "2", "Описание", 10, start, Duration.ofMinutes(30));
+        SubTask last = new SubTask(3, "3", "Описание", 10, start.plusHours(2), Duration.ofMinutes(15));
+
+        aggregate.add(first);
+        aggregate.add(same);
+        aggregate.add(last);
+        aggregate.add(new SubTask("Без времени", "Описание", 10));
+
+        assertEquals(Task.toEpochMinute(start), aggregate.getStartMinute(), "Начало должно быть минимальным.");
+        assertEquals(Task.toEpochMinute(start.plusHours(2).plusMinutes(15)), aggregate.getEndMinute(),
+                "Конец должен быть максимальным.");
+        assertEquals(Duration.ofMinutes(75), aggregate.getDuration(), "Длительность должна суммироваться.");
+
+        aggregate.remove(last);
+        aggregate.remove(first);
+
+        assertEquals(Task.toEpochMinute(start.plusMinutes(30)), aggregate.getEndMinute(),
+                "Одинаковые границы должны учитываться с кратностью.");
+        assertEquals(Duration.ofMinutes(30), aggregate.getDuration(), "Длительность должна уменьшаться.");
+
+        aggregate.remove(same);
+        assertFalse(aggregate.hasTime(), "После удаления всех подзадач времени быть не должно.");
+    }
+
+    @Test
+    public void pendingSubTasksIgnoreDoneOnes() {
+        EpicAggregate aggregate = new EpicAggregate();
+        SubTask done = new SubTask(1, "1", "Описание", Status.DONE, 10, start, Duration.ofMinutes(30));
+        SubTask pending = new SubTask(2, "2", "Описание", Status.IN_PROGRESS, 10, start.plusHours(1),
+                Duration.ofMinutes(20));
+
+        aggregate.add(done);
+        aggregate.add(pending);
+
+        assertEquals(20, aggregate.getRemainingMinutes(), "Выполненная подзадача не должна учитываться в остатке.");
+        assertEquals(Optional.of(pending), aggregate.nextPendingSubTask(start), "Ближайшей должна быть незавершённая подзадача.");
+        assertTrue(aggregate.nextPendingSubTask(start.plusHours(2)).isEmpty(),
+                "Подзадачи, начавшиеся раньше, не считаются предстоящими.");
+
+        aggregate.remove(pending);
+        assertEquals(0, aggregate.getRemainingMinutes(), "После удаления остаток должен обнулиться.");
+    }
+}
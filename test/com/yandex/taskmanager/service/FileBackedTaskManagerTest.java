@@ -3,18 +3,25 @@ package com.yandex.taskmanager.service;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 
+import com.yandex.taskmanager.exceptions.ManagerLoadException;
 import com.yandex.taskmanager.model.Task;
 import com.yandex.taskmanager.model.Epic;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.RecurringTask;
 
 import java.io.IOException;
 
 import java.io.File;
 
 import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -87,6 +94,89 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         checkTasksUnchangedCustom(tasksInOldManager, tasksInNewManager);
     }
 
+    @Test
+    public void saveAndLoadKeepsResources() {
+        Task task = manager.createTask(new Task("Задача", "Описание", null, null, "alice"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId(), null, null, "bob"));
+
+        FileBackedTaskManager newManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        assertEquals("alice", newManager.getTaskById(task.getId()).getResource(),
+                "Ресурс задачи должен восстанавливаться из файла.");
+        assertEquals("bob", newManager.getSubTaskById(subTask.getId()).getResource(),
+                "Ресурс подзадачи должен восстанавливаться из файла.");
+    }
+
+    @Test
+    public void saveAndLoadKeepsRecurringTasks() {
+        LocalDateTime start = LocalDate.now().atStartOfDay().plusHours(10);
+        Task standup = manager.createTask(new RecurringTask("Стендап", "Описание", start, Duration.ofMinutes(15),
+                "alice", Duration.ofDays(1), 30));
+
+        FileBackedTaskManager newManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        RecurringTask loaded = (RecurringTask) newManager.getTaskById(standup.getId());
+        assertEquals(Duration.ofDays(1), loaded.getRepeatInterval(), "Интервал повторения должен восстанавливаться.");
+        assertEquals(30, loaded.getRepeatCount(), "Количество повторений должно восстанавливаться.");
+        assertThrows(IllegalArgumentException.class, () -> newManager.createTask(new Task("Задача", "Описание",
+                start.plusDays(29), Duration.ofMinutes(15), "alice")),
+                "Повторения должны учитываться после загрузки.");
+    }
+
+    @Test
+    public void saveAndLoadKeepsNestedEpics() {
+        LocalDateTime start = LocalDate.now().atStartOfDay().plusHours(10);
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        Epic initiative = manager.createEpic(new Epic("Инициатива", "Описание"));
+        Epic nested = manager.createEpic(new Epic("Вложенный эпик", "Описание", initiative.getId()));
+        SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", nested.getId(),
+                start, Duration.ofMinutes(30)));
+        manager.updateSubTask(new SubTask(subTask.getId(), "Подзадача", "Описание", Status.IN_PROGRESS,
+                nested.getId(), start, Duration.ofMinutes(30)));
+
+        FileBackedTaskManager newManager = FileBackedTaskManager.loadFromFile(tempFile);
+
+        Epic loaded = newManager.getEpicById(initiative.getId());
+        assertEquals(initiative.getId(), newManager.getEpicById(nested.getId()).getParentId(),
+                "Родитель вложенного эпика должен восстанавливаться.");
+        assertFalse(newManager.getEpicById(epic.getId()).hasParent(), "Эпик верхнего уровня не имеет родителя.");
+        assertEquals(Status.IN_PROGRESS, loaded.getStatus(), "Статус инициативы должен восстанавливаться.");
+        assertEquals(start, loaded.getStartTime(), "Время инициативы должно восстанавливаться.");
+        assertEquals(start.plusMinutes(30), loaded.getEndTime(), "Конец инициативы должен восстанавливаться.");
+    }
+
+    @Test
+    public void loadRejectsOverlappingSavedTasks() throws IOException {
+        String start = LocalDate.now().atStartOfDay().plusHours(10).format(Task.DATE_TIME_FORMATTER);
+        Files.writeString(tempFile.toPath(), "id,type,name,status,description,epic,startTime,duration"
+                + System.lineSeparator() + "1,TASK,Задача,NEW,Описание,-," + start + ",30"
+                + System.lineSeparator() + "2,TASK,Задача,NEW,Описание,-," + start + ",15"
+                + System.lineSeparator());
+
+        ManagerLoadException ex = assertThrows(ManagerLoadException.class,
+                () -> FileBackedTaskManager.loadFromFile(tempFile, IntervalTreeCalendar::new));
+        assertTrue(ex.getMessage().contains("overlaps"),
+                "Сообщение об ошибке должно содержать слово 'overlaps'.");
+    }
+
+    @Test
+    public void saveAndLoadKeepsIdHighWaterMark() throws IOException {
+        manager.createTask(new Task("Задача", "Описание"));
+        Task last = manager.createTask(new Task("Последняя задача", "Описание"));
+        manager.deleteTask(last.getId());
+
+        FileBackedTaskManager newManager = FileBackedTaskManager.loadFromFile(tempFile);
+        assertEquals(2, newManager.getIdCounter(), "Счётчик должен восстанавливаться из файла.");
+        assertEquals(3, newManager.createTask(new Task("Новая", "Описание")).getId(),
+                "Id удалённой задачи не должен выдаваться повторно.");
+
+        Files.writeString(tempFile.toPath(), "id,type,name,status,description,epic,startTime,duration"
+                + System.lineSeparator() + "5,TASK,Задача,NEW,Описание,-,null,null" + System.lineSeparator());
+        assertEquals(5, FileBackedTaskManager.loadFromFile(tempFile).getIdCounter(),
+                "Без сохранённого счётчика должен использоваться максимальный id.");
+    }
+
     @Test
     public void saveAndLoadWithDeleteByIdWorksCorrectly() {
         List<Task> tasksInOldManager;
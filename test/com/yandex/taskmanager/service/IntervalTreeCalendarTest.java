@@ -0,0 +1,85 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeCalendarTest {
+    private IntervalTreeCalendar calendar;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new IntervalTreeCalendar();
+        now = LocalDate.now().atStartOfDay();
+    }
+
+    @Test
+    public void overlapIsCheckedWithMinutePrecision() {
+        calendar.markInterval(now.plusMinutes(15), now.plusMinutes(30));
+
+        assertTrue(calendar.isIntervalFree(now, now.plusMinutes(15)),
+                "Интервал, заканчивающийся в начале занятого, должен быть свободен.");
+        assertTrue(calendar.isIntervalFree(now.plusMinutes(30), now.plusMinutes(44)),
+                "Интервал, начинающийся в конце занятого, должен быть свободен.");
+        assertFalse(calendar.isIntervalFree(now.plusMinutes(29), now.plusMinutes(44)),
+                "Пересечение в одну минуту должно считаться занятостью.");
+        assertFalse(calendar.isIntervalFree(now, now.plusHours(1)),
+                "Интервал, накрывающий занятый, должен быть занят.");
+
+        calendar.freeInterval(now.plusMinutes(15), now.plusMinutes(30));
+
+        assertTrue(calendar.isIntervalFree(now, now.plusHours(1)), "После освобождения интервал должен быть свободен.");
+        assertEquals(0, calendar.size(), "Календарь должен быть пуст после освобождения интервала.");
+    }
+
+    @Test
+    public void overlappingMarksAreRejected() {
+        calendar.markInterval(now.plusMinutes(15), now.plusMinutes(30));
+
+        assertThrows(IllegalStateException.class, () -> calendar.markInterval(now.plusMinutes(15), now.plusMinutes(45)));
+        assertThrows(IllegalStateException.class, () -> calendar.markInterval(now, now.plusMinutes(20)));
+        assertEquals(1, calendar.size(), "Отклонённые интервалы не должны сохраняться.");
+
+        calendar.freeInterval(now.plusMinutes(15), now.plusMinutes(30));
+        assertEquals(0, calendar.size(), "Исходный интервал должен освобождаться после отклонённых пересечений.");
+        assertTrue(calendar.isIntervalFree(now, now.plusHours(1)), "Календарь должен остаться согласованным.");
+    }
+
+    @Test
+    public void findFreeSlotsSkipsBookedIntervals() {
+        calendar.markInterval(now.plusMinutes(10), now.plusMinutes(20));
+        calendar.markInterval(now.plusMinutes(25), now.plusMinutes(40));
+
+        assertEquals(List.of(now, now.plusMinutes(40), now.plusMinutes(50)),
+                calendar.findFreeSlots(now, Duration.ofMinutes(10), 3),
+                "Должны находиться интервалы без пересечений с занятыми.");
+        assertEquals(List.of(now.plusMinutes(20)), calendar.findFreeSlots(now.plusMinutes(11), Duration.ofMinutes(5), 1),
+                "Интервал точно между занятыми должен находиться.");
+    }
+
+    @Test
+    public void managerWithIntervalCalendarAcceptsTasksOutsideOfOneYear() {
+        TaskManager manager = Managers.getTaskManager(IntervalTreeCalendar::new);
+
+        manager.createTask(new Task("1", "Описание", now.plusMinutes(15), Duration.ofMinutes(15)));
+        manager.createTask(new Task("2", "Описание", now.plusMinutes(30), Duration.ofMinutes(14)));
+        manager.createTask(new Task("3", "Описание", now.plusYears(5), Duration.ofMinutes(15)));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.createTask(new Task("4", "Описание", now.plusMinutes(29), Duration.ofMinutes(1))));
+        assertTrue(ex.getMessage().contains("interval is occupied"),
+                "Сообщение об ошибке должно содержать слово 'interval is occupied'.");
+        assertEquals(3, manager.getPrioritizedTasks().size(), "В списке приоритетов должно быть 3 задачи.");
+    }
+}
@@ -1,8 +1,17 @@
 package com.yandex.taskmanager.service;
 
+import com.yandex.taskmanager.model.Task;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ManagersTest {
 
@@ -21,4 +30,34 @@ class ManagersTest {
         assertNotNull(historyManager,
                 "getDefaultHistoryManager() должен возвращать HistoryManager без параметров.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void managerCreatesConcurrentTaskManager() {
+        TaskManager taskManager = Managers.getConcurrentTaskManager();
+
+        assertInstanceOf(ConcurrentTaskManager.class, taskManager,
+                "getConcurrentTaskManager() должен возвращать потокобезопасный TaskManager.");
+    }
+
+    @Test
+    public void managerCreatesShardedTaskManager() {
+        TaskManager taskManager = Managers.getShardedTaskManager(4);
+
+        assertInstanceOf(ShardedTaskManager.class, taskManager,
+                "getShardedTaskManager() должен возвращать TaskManager с шардами.");
+        assertEquals(4, ((ShardedTaskManager) taskManager).getShardCount(),
+                "Количество шардов должно задаваться через Managers.");
+    }
+
+    @Test
+    public void managerCreatesBoundedTaskManagerWithSlotCalendar() {
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        TaskManager taskManager = Managers.getBoundedTaskManager(start, start.plusDays(1));
+
+        taskManager.createTask(new Task("Задача", "Описание", start.plusHours(1), Duration.ofMinutes(15)));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> taskManager.createTask(new Task("Задача", "Описание", start.plusDays(2), Duration.ofMinutes(15))));
+        assertTrue(ex.getMessage().contains("calendar range"),
+                "Ограниченный календарь должен отклонять задачи за пределами диапазона.");
+    }
+}
@@ -0,0 +1,56 @@
+package com.yandex.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagedSlotCalendarTest {
+    private final LocalDateTime start = LocalDate.of(2030, 1, 1).atStartOfDay();
+
+    @Test
+    public void pagesAreAllocatedOnDemandAndReleasedWhenEmpty() {
+        PagedSlotCalendar calendar = new PagedSlotCalendar(15);
+        assertEquals(0, calendar.getPageCount(), "Новый календарь не должен содержать страниц.");
+
+        LocalDateTime from = start.plusHours(23);
+        LocalDateTime to = start.plusDays(2).plusHours(1);
+        calendar.markInterval(from, to);
+
+        assertEquals(3, calendar.getPageCount(), "Интервал на три дня должен занять три страницы.");
+        assertFalse(calendar.isIntervalFree(start.plusDays(1).plusHours(12), start.plusDays(1).plusHours(13)),
+                "Середина интервала должна быть занята.");
+        assertTrue(calendar.isIntervalFree(to, to.plusHours(1)), "Время после интервала должно быть свободно.");
+        assertTrue(calendar.isIntervalFree(start.plusYears(10), start.plusYears(10).plusHours(1)),
+                "Календарь без границ должен принимать любые даты.");
+
+        calendar.freeInterval(from, to);
+
+        assertEquals(0, calendar.getPageCount(), "Пустые страницы должны освобождаться.");
+        assertTrue(calendar.isIntervalFree(from, to), "После освобождения интервал должен быть свободен.");
+    }
+
+    @Test
+    public void rangeCanBeExtendedWithoutRebuild() {
+        PagedSlotCalendar calendar = new PagedSlotCalendar(start, start.plusYears(1), 15);
+        LocalDateTime later = start.plusYears(1).plusDays(1);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> calendar.isIntervalFree(later, later.plusMinutes(15)));
+        assertTrue(ex.getMessage().contains("calendar range"),
+                "Сообщение об ошибке должно содержать слово 'calendar range'.");
+
+        calendar.markInterval(start, start.plusMinutes(30));
+        calendar.setRangeEnd(start.plusYears(2));
+
+        assertTrue(calendar.isIntervalFree(later, later.plusMinutes(15)),
+                "После расширения диапазона интервал должен быть доступен.");
+        assertFalse(calendar.isIntervalFree(start.plusMinutes(15), start.plusMinutes(45)),
+                "Расширение диапазона не должно терять занятые интервалы.");
+    }
+}
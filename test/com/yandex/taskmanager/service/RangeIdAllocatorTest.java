@@ -0,0 +1,55 @@
+package com.yandex.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RangeIdAllocatorTest {
+    @Test
+    public void idsAreLeasedInBlocks() {
+        RangeIdAllocator allocator = new RangeIdAllocator(10);
+
+        assertEquals(1, allocator.nextId(), "Первый id блока должен быть 1.");
+        assertEquals(2, allocator.nextId(), "Id внутри блока должны идти подряд.");
+        assertEquals(10, allocator.getHighWaterMark(), "Отметка должна учитывать весь арендованный блок.");
+
+        allocator.advanceTo(25);
+        assertEquals(26, allocator.nextId(), "После сдвига старый блок не должен использоваться.");
+        assertEquals(35, allocator.getHighWaterMark(), "Новый блок должен начинаться после отметки.");
+
+        allocator.reset();
+        assertEquals(1, allocator.nextId(), "После сброса id должны начинаться заново.");
+        assertThrows(IllegalArgumentException.class, () -> new RangeIdAllocator(0));
+    }
+
+    @Test
+    public void parallelThreadsNeverShareIds() throws Exception {
+        RangeIdAllocator allocator = new RangeIdAllocator(16);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ids.add(allocator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(4000, ids.size(), "Потоки не должны получать одинаковые id.");
+    }
+}
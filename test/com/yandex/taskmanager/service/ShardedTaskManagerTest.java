@@ -0,0 +1,181 @@
+package com.yandex.taskmanager.service;
+
+import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.SubTask;
+import com.yandex.taskmanager.model.Task;
+import com.yandex.taskmanager.model.TaskCriteria;
+import com.yandex.taskmanager.model.TaskType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedTaskManagerTest {
+    private ShardedTaskManager manager;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        manager = new ShardedTaskManager(4);
+        now = LocalDate.now().atStartOfDay();
+    }
+
+    @Test
+    public void epicTreeStaysOnOneShardAndQueriesFanOut() {
+        Task task = manager.createTask(new Task("Задача", "Описание"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        Epic childEpic = manager.createEpic(new Epic("Вложенный эпик", "Описание", epic.getId()));
+        SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", childEpic.getId()));
+
+        assertNotEquals(manager.shardOf(task.getId()), manager.shardOf(epic.getId()),
+                "Независимые задачи должны распределяться по разным шардам.");
+        assertEquals(manager.shardOf(epic.getId()), manager.shardOf(childEpic.getId()),
+                "Вложенный эпик должен храниться в шарде родителя.");
+        assertEquals(manager.shardOf(epic.getId()), manager.shardOf(subTask.getId()),
+                "Подзадача должна храниться в шарде своего эпика.");
+
+        assertEquals(List.of(task, epic, childEpic, subTask), manager.getAllTasks(),
+                "Общий список должен собираться со всех шардов.");
+        assertEquals(List.of(epic, childEpic), manager.getEpics(), "Эпики должны собираться со всех шардов.");
+        assertEquals(manager.getAllTasks(), manager.snapshot().stream().toList(),
+                "Снимок должен объединять снимки всех шардов.");
+        assertEquals(List.of(epic, childEpic), manager.findTasks(new TaskCriteria(Status.NEW, TaskType.EPIC)),
+                "Поиск по индексам должен собирать результаты всех шардов.");
+        assertEquals(subTask, manager.getSubTaskById(subTask.getId()), "Подзадача должна находиться по id.");
+        assertEquals(List.of(subTask), manager.getEpicSubTasks(childEpic.getId()),
+                "Подзадачи эпика должны находиться в его шарде.");
+        manager.getTaskById(task.getId());
+        assertEquals(List.of(subTask, task), manager.getHistory(),
+                "История должна быть общей для всех шардов.");
+        assertEquals(2, manager.getEpicsProgress(now).size(), "Прогресс должен собираться со всех шардов.");
+    }
+
+    @Test
+    public void calendarConflictsAreCheckedAcrossShards() {
+        Task task = manager.createTask(new Task("Задача", "Описание", now.plusHours(1), Duration.ofHours(1)));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+
+        assertNotEquals(manager.shardOf(task.getId()), manager.shardOf(epic.getId()),
+                "Задача и эпик должны храниться в разных шардах.");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId(),
+                        now.plusHours(1).plusMinutes(30), Duration.ofHours(1))));
+        assertTrue(ex.getMessage().contains("occupied"),
+                "Сообщение об ошибке должно содержать слово 'occupied'.");
+
+        SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId(),
+                now.plusHours(2), Duration.ofHours(1)));
+        assertEquals(List.of(task, subTask), List.copyOf(manager.getPrioritizedTasks()),
+                "Приоритеты должны содержать задачи всех шардов.");
+    }
+
+    @Test
+    public void autoScheduleWorksAcrossShards() {
+        Task task = manager.createTask(new Task("Задача", "Описание"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId()));
+        manager.createTask(new Task("Занято", "Описание", now.plusHours(1), Duration.ofHours(1)));
+
+        List<Task> scheduled = manager.autoSchedule(List.of(subTask.getId(), task.getId()), Duration.ofHours(1),
+                now, null);
+
+        assertEquals(now, scheduled.get(0).getStartTime(), "Первая задача должна занять первый свободный слот.");
+        assertEquals(now.plusHours(2), scheduled.get(1).getStartTime(), "Вторая задача должна обойти занятый слот.");
+        assertEquals(now.plusHours(2), manager.getSubTaskById(subTask.getId()).getStartTime(),
+                "Подзадача в шарде эпика должна получить время.");
+        assertEquals(now.plusHours(2), manager.getEpicById(epic.getId()).getStartTime(),
+                "Время эпика должно пересчитываться.");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.autoSchedule(List.of(epic.getId()), Duration.ofHours(1), now, null));
+    }
+
+    @Test
+    public void autoScheduleAcrossShardsMustBookUnalignedDurations() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(manager.createTask(new Task("Задача", "Описание")).getId());
+        }
+
+        List<Task> scheduled = manager.autoSchedule(ids, Duration.ofMinutes(20), now, null);
+
+        assertEquals(List.of(now, now.plusMinutes(30), now.plusMinutes(60)),
+                scheduled.stream().map(Task::getStartTime).toList(),
+                "Каждый запланированный интервал должен учитываться при выборе следующего.");
+        assertEquals(3, manager.getPrioritizedTasks().size(), "Все задачи должны получить время.");
+
+        ShardedTaskManager bounded = new ShardedTaskManager(4, () -> new SlotCalendar(now, now.plusHours(2),
+                InMemoryTaskManager.CALENDAR_INTERVAL));
+        int first = bounded.createTask(new Task("Задача", "Описание")).getId();
+        int second = bounded.createTask(new Task("Задача", "Описание")).getId();
+        bounded.createTask(new Task("Занято", "Описание", now.plusMinutes(30), Duration.ofMinutes(90)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bounded.autoSchedule(List.of(first, second), Duration.ofMinutes(20), now, null));
+        assertEquals(1, bounded.getPrioritizedTasks().size(), "Неудачный план не должен ничего бронировать.");
+        assertEquals(List.of(now), bounded.findFreeSlots(Duration.ofMinutes(20), now, 1),
+                "Неудачный план должен освобождать календарь.");
+    }
+
+    @Test
+    public void deleteAllTasksResetsEveryShard() {
+        for (int i = 0; i < 6; i++) {
+            manager.createTask(new Task("Задача", "Описание", now.plusHours(i), Duration.ofHours(1)));
+        }
+
+        assertEquals(6, manager.getIdCounter(), "Счётчик должен равняться наибольшему выданному id.");
+        manager.deleteAllTasks();
+
+        assertTrue(manager.getAllTasks().isEmpty(), "Все шарды должны быть очищены.");
+        assertTrue(manager.getPrioritizedTasks().isEmpty(), "Общий календарь должен быть очищен.");
+        assertEquals(0, manager.getIdCounter(), "Счётчики всех шардов должны быть сброшены.");
+        assertEquals(1, manager.createTask(new Task("Задача", "Описание", now, Duration.ofHours(1))).getId(),
+                "После очистки id должны начинаться заново.");
+    }
+
+    @Test
+    public void parallelWritersOnDifferentShardsKeepManagerConsistent() throws Exception {
+        int threads = 8;
+        int epicsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread * epicsPerThread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < epicsPerThread; i++) {
+                    Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+                    SubTask subTask = manager.createSubTask(new SubTask("Подзадача", "Описание", epic.getId(),
+                            now.plusHours(offset + i), Duration.ofMinutes(30)));
+                    manager.updateSubTask(new SubTask(subTask.getId(), "Подзадача", "Описание", Status.DONE,
+                            epic.getId(), subTask.getStartTime(), subTask.getDuration()));
+                    manager.getAllTasks();
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int expectedEpics = threads * epicsPerThread;
+        assertEquals(expectedEpics * 2, manager.getAllTasks().size(), "Все задачи должны сохраниться.");
+        assertEquals(expectedEpics, manager.getPrioritizedTasks().size(), "Все подзадачи должны быть в приоритетах.");
+        assertEquals(expectedEpics, manager.getEpics().stream()
+                .filter(epic -> epic.getStatus() == Status.DONE)
+                .count(), "Все эпики должны быть завершены.");
+    }
+}
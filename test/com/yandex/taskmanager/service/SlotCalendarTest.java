@@ -0,0 +1,81 @@
+package com.yandex.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotCalendarTest {
+    private SlotCalendar calendar;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDate.of(2030, 1, 1).atStartOfDay();
+        calendar = new SlotCalendar(start, start.plusDays(3), 15);
+    }
+
+    @Test
+    public void markAndFreeWorkAcrossWordBoundaries() {
+        LocalDateTime from = start.plusMinutes(15 * 60);
+        LocalDateTime to = start.plusMinutes(15 * 200);
+
+        calendar.markInterval(from, to);
+
+        assertFalse(calendar.isIntervalFree(from.minusMinutes(15), from.plusMinutes(1)),
+                "Интервал, пересекающий начало занятого участка, должен быть занят.");
+        assertFalse(calendar.isIntervalFree(to.minusMinutes(1), to.plusMinutes(30)),
+                "Интервал, пересекающий конец занятого участка, должен быть занят.");
+        assertTrue(calendar.isIntervalFree(start, from),
+                "Интервал до занятого участка должен быть свободен.");
+        assertTrue(calendar.isIntervalFree(to, to.plusHours(5)),
+                "Интервал после занятого участка должен быть свободен.");
+
+        calendar.freeInterval(from, to);
+
+        assertTrue(calendar.isIntervalFree(from, to), "После освобождения интервал должен быть свободен.");
+    }
+
+    @Test
+    public void intervalsAreRoundedToSlots() {
+        calendar.markInterval(start.plusMinutes(15), start.plusMinutes(30));
+
+        assertFalse(calendar.isIntervalFree(start.plusMinutes(29), start.plusMinutes(44)),
+                "Начало в занятом слоте должно считаться пересечением.");
+        assertFalse(calendar.isIntervalFree(start, start.plusMinutes(16)),
+                "Конец в занятом слоте должен считаться пересечением.");
+        assertTrue(calendar.isIntervalFree(start.plusMinutes(30), start.plusMinutes(45)),
+                "Соседний слот должен быть свободен.");
+    }
+
+    @Test
+    public void utilizationIsCountedAcrossWordBoundaries() {
+        calendar.markInterval(start.plusMinutes(15 * 60), start.plusMinutes(15 * 70));
+        calendar.markInterval(start.plusMinutes(15 * 127), start.plusMinutes(15 * 130));
+
+        assertEquals(13 * 15, calendar.countBookedMinutes(start, start.plusDays(3)),
+                "Занятые минуты должны считаться по всем словам.");
+        assertEquals(3, calendar.countFreeBlocks(start, start.plusDays(3)),
+                "Свободные промежутки должны считаться по всем словам.");
+        assertEquals(30, calendar.countBookedMinutes(start.plusMinutes(15 * 69), start.plusMinutes(15 * 128)),
+                "Занятые минуты должны считаться только внутри периода.");
+        assertEquals(1, calendar.countFreeBlocks(start.plusMinutes(15 * 64), start.plusMinutes(15 * 128)),
+                "Промежуток на границе периода должен считаться один раз.");
+    }
+
+    @Test
+    public void mustThrowExceptionIfIntervalOutsideOfRange() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> calendar.isIntervalFree(start.plusDays(3), start.plusDays(3).plusMinutes(15)));
+        assertTrue(ex.getMessage().contains("calendar range"),
+                "Сообщение об ошибке должно содержать слово 'calendar range'.");
+        assertThrows(IllegalArgumentException.class,
+                () -> calendar.isIntervalFree(start.minusMinutes(15), start));
+    }
+}
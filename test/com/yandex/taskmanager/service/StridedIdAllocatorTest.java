@@ -0,0 +1,25 @@
+package com.yandex.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StridedIdAllocatorTest {
+    @Test
+    public void idsKeepTheirResidue() {
+        StridedIdAllocator allocator = new StridedIdAllocator(2, 4);
+
+        assertEquals(3, allocator.nextId(), "Первый id должен равняться смещению плюс один.");
+        assertEquals(7, allocator.nextId(), "Id должны идти с шагом stride.");
+        assertEquals(7, allocator.getHighWaterMark(), "Отметка должна равняться последнему id.");
+
+        allocator.advanceTo(20);
+        assertEquals(23, allocator.nextId(), "После сдвига id должен быть больше отметки и сохранять остаток.");
+
+        allocator.reset();
+        assertEquals(0, allocator.getHighWaterMark(), "После сброса отметка должна быть нулевой.");
+        assertEquals(3, allocator.nextId(), "После сброса id должны начинаться заново.");
+        assertThrows(IllegalArgumentException.class, () -> new StridedIdAllocator(4, 4));
+    }
+}
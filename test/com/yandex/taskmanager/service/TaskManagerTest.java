@@ -6,14 +6,24 @@ import org.junit.jupiter.api.BeforeEach;
 
 import com.yandex.taskmanager.model.Task;
 import com.yandex.taskmanager.model.Epic;
+import com.yandex.taskmanager.model.EpicProgress;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Status;
+import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.model.TaskCriteria;
+import com.yandex.taskmanager.model.CalendarUtilization;
+import com.yandex.taskmanager.model.IntervalConflicts;
+import com.yandex.taskmanager.model.IntervalProposal;
+import com.yandex.taskmanager.model.RecurringTask;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.NavigableSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 abstract class TaskManagerTest<T extends TaskManager> {
     protected T manager;
@@ -103,8 +114,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
     public void addTaskMustThrowExceptionIfCreateTaskWithStatusNotNew() {
         Task notNewStatusTask = new Task(0, "Задача", "Описание", Status.IN_PROGRESS);
         SubTask notNewStatusSubTask = new SubTask(0, "Подзадача", "Описание", Status.IN_PROGRESS, 1);
-        Epic notNewStatusEpic = new Epic("Эпик", "Описание");
-        notNewStatusEpic.setStatus(Status.IN_PROGRESS);
+        Epic notNewStatusEpic = new Epic("Эпик", "Описание").withStatus(Status.IN_PROGRESS);
 
         manager.createEpic(new Epic("Эпик", "Для подзадачи"));
 
@@ -126,10 +136,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
 
     @Test
     public void addTaskMustThrowExceptionIfCreateEpicWithExistingSubTaskIdList() {
-        Epic newEpic = new Epic("Эпик", "Описание");
-        List<Integer> subTaskIds = new ArrayList<>();
-        subTaskIds.add(999);
-        Epic notEmptyEpic = new Epic(newEpic, subTaskIds);
+        Epic notEmptyEpic = new Epic("Эпик", "Описание").withSubTaskId(999);
 
         IllegalArgumentException ex1 = assertThrows(IllegalArgumentException.class,
                 () -> manager.createEpic(notEmptyEpic));
@@ -251,11 +258,30 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Подзадачи должны быть удалены из списка подзадач.");
     }
 
+    @Test
+    public void deleteEpicTreeMustFreeSubTaskTimeSlots() {
+        Task task = manager.createTask(new Task("Задача", "Описание", now.plusHours(3), Duration.ofMinutes(30)));
+        Epic parent = manager.createEpic(new Epic("Эпик", "Описание"));
+        Epic child = manager.createEpic(new Epic("Вложенный эпик", "Описание", parent.getId()));
+        manager.createSubTask(new SubTask("Подзадача", "Описание", parent.getId(), now, Duration.ofMinutes(30)));
+        manager.createSubTask(new SubTask("Подзадача", "Описание", child.getId(), now.plusHours(1),
+                Duration.ofMinutes(30)));
+
+        manager.deleteEpic(parent.getId());
+
+        assertEquals(List.of(task), List.copyOf(manager.getPrioritizedTasks()),
+                "Подзадачи удалённого дерева эпиков должны уйти из списка приоритетов.");
+        assertEquals(Optional.of(now), manager.findEarliestFreeSlot(Duration.ofMinutes(90), now),
+                "Интервалы подзадач удалённого дерева должны освобождаться.");
+        manager.createTask(new Task("Задача", "На месте подзадачи", now.plusHours(1), Duration.ofMinutes(30)));
+        assertEquals(2, manager.getPrioritizedTasks().size(), "Освобождённый интервал должен быть доступен.");
+    }
+
     @Test
     public void deleteSubTaskByIdMustRemoveItFromEpic() {
         createSixTaskListForTests(manager);
 
-        assertTrue(epic1.getSubTaskIdList().contains(subTask1.getId()),
+        assertTrue(manager.getEpicById(epic1.getId()).getSubTaskIdList().contains(subTask1.getId()),
                 "id подзадачи должна быть в списке эпика.");
 
         manager.deleteAnyTaskById(subTask1.getId());
@@ -494,12 +520,10 @@ abstract class TaskManagerTest<T extends TaskManager> {
 
         final List<Task> tasksToCheck = manager.getAllTasks();
 
-        Epic updatingEpic = new Epic(1, "НОВЫЙ ЭПИК со своим subTaskIdList", "CHANGED");
-        List<Integer> updatingEpicSubTaskIdList = new ArrayList<>();
-        updatingEpicSubTaskIdList.add(999);
-        updatingEpicSubTaskIdList.add(1000);
-        updatingEpicSubTaskIdList.add(1001);
-        Epic updatingEpicWithSubTaskIds = new Epic(updatingEpic, updatingEpicSubTaskIdList);
+        Epic updatingEpicWithSubTaskIds = new Epic(1, "НОВЫЙ ЭПИК со своим subTaskIdList", "CHANGED")
+                .withSubTaskId(999)
+                .withSubTaskId(1000)
+                .withSubTaskId(1001);
 
         IllegalArgumentException ex1 = assertThrows(IllegalArgumentException.class,
                 () -> manager.updateEpic(updatingEpicWithSubTaskIds));
@@ -721,6 +745,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
     @Test
     public void setEpicTimeWorksCorrectly() {
         createSixTaskListForTimeTests(manager);
+        epic1 = manager.getEpicById(2);
 
         assertEquals(now.plusMinutes(10), epic1.getStartTime(),
                 "Начало эпика должно быть равно 00:10.");
@@ -734,6 +759,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
 
         manager.deleteAnyTaskById(1);
         manager.updateSubTask(subTask1);
+        epic1 = manager.getEpicById(2);
 
         assertEquals(now.plusMinutes(10), epic1.getStartTime(),
                 "Начало эпика должно быть равно 00:10.");
@@ -744,6 +770,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
 
         manager.deleteAnyTaskById(4);
         manager.deleteAnyTaskById(5);
+        epic1 = manager.getEpicById(2);
 
         assertNull(epic1.getStartTime(),
                 "У эпика без задач начало должно быть null.");
@@ -759,7 +786,7 @@ abstract class TaskManagerTest<T extends TaskManager> {
         Task wrongTask1 = new Task("1", "ВРЕМЯ НАЧАЛА В ЗАНЯТОМ ИНТЕРВАЛЕ", now.plusMinutes(16), Duration.ofMinutes(5));
         Task wrongTask2 = new Task("2", "ДЛИТЕЛЬНОСТЬ В ЗАНЯТОМ ИНТЕРВАЛЕ", now, Duration.ofMinutes(16));
         Task wrongTask3 = new Task("3", "НАЧАЛО НА ГРАНИЦЕ НОВОГО ИНТЕРВАЛА", now.plusMinutes(29), Duration.ofMinutes(15));
-        Task wrongTask4 = new Task("4", "ЗА ПРЕДЕЛАМИ КАЛЕНДАРЯ", now.plusYears(1), Duration.ofMinutes(15));
+        Task farTask = new Task("4", "ЧЕРЕЗ ДВА ГОДА", now.plusYears(2), Duration.ofMinutes(15));
 
         manager.createTask(task1);
 
@@ -772,9 +799,437 @@ abstract class TaskManagerTest<T extends TaskManager> {
         IllegalArgumentException ex3 = assertThrows(IllegalArgumentException.class, () -> manager.createTask(wrongTask3));
         assertTrue(ex3.getMessage().contains("interval is occupied"),
                 "Сообщение об ошибке должно содержать слово 'interval is occupied'.");
-        IllegalArgumentException ex4 = assertThrows(IllegalArgumentException.class, () -> manager.createTask(wrongTask4));
-        assertTrue(ex4.getMessage().contains("calendar range"),
-                "Сообщение об ошибке должно содержать слово 'calendar range'.");
+
+        farTask = manager.createTask(farTask);
+        assertEquals(farTask, manager.getPrioritizedTasks().last(),
+                "Календарь по умолчанию должен принимать задачи за пределами года.");
+        IllegalArgumentException ex4 = assertThrows(IllegalArgumentException.class, () -> manager.createTask(
+                new Task("5", "ПЕРЕСЕЧЕНИЕ ЧЕРЕЗ ДВА ГОДА", now.plusYears(2).plusMinutes(5), Duration.ofMinutes(5))));
+        assertTrue(ex4.getMessage().contains("interval is occupied"),
+                "Занятость должна проверяться и за пределами года.");
+    }
+
+    @Test
+    public void findFreeSlotsWorksCorrectly() {
+        createSixTaskListForTimeTests(manager);
+
+        assertEquals(Optional.of(now.plusMinutes(105)), manager.findEarliestFreeSlot(Duration.ofMinutes(30), now),
+                "Первый свободный интервал должен начинаться в 01:45.");
+        assertEquals(Optional.of(now.plusMinutes(105)),
+                manager.findEarliestFreeSlot(Duration.ofMinutes(5), now.plusMinutes(11)),
+                "Интервалы, занятые задачами, должны пропускаться.");
+
+        List<LocalDateTime> freeSlots = manager.findFreeSlots(Duration.ofMinutes(30), now.plusMinutes(100), 3);
+        assertEquals(List.of(now.plusMinutes(105), now.plusMinutes(135), now.plusMinutes(165)), freeSlots,
+                "Должны возвращаться три непересекающихся свободных интервала.");
+
+        for (LocalDateTime startTime : freeSlots) {
+            manager.createTask(new Task("Задача в свободном слоте", "Описание", startTime, Duration.ofMinutes(30)));
+        }
+        assertEquals(7, manager.getPrioritizedTasks().size(),
+                "Все задачи в найденных интервалах должны создаваться без пересечений.");
+
+        assertEquals(List.of(now.plusYears(2)), manager.findFreeSlots(Duration.ofMinutes(30), now.plusYears(2), 1),
+                "Свободные интервалы должны находиться и за пределами года.");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.findFreeSlots(Duration.ofMinutes(30), now, 0));
+    }
+
+    @Test
+    public void calendarUtilizationWorksCorrectly() {
+        manager.createTask(new Task("1", "Описание", now.plusMinutes(30), Duration.ofMinutes(30)));
+        manager.createTask(new Task("2", "Описание", now.plusMinutes(90), Duration.ofMinutes(30)));
+        manager.createTask(new Task("3", "Описание", now.plusDays(1), Duration.ofMinutes(45)));
+        manager.createTask(new Task("4", "Описание", now.plusMinutes(30), Duration.ofMinutes(60), "Комната"));
+
+        List<CalendarUtilization> days = manager.getCalendarUtilization(null, now, now.plusDays(2), ChronoUnit.DAYS);
+
+        assertEquals(2, days.size(), "Должна вернуться статистика за 2 дня.");
+        assertEquals(60, days.get(0).getBookedMinutes(), "В первый день должно быть занято 60 минут.");
+        assertEquals(24 * 60 - 60, days.get(0).getFreeMinutes(), "Свободные минуты должны дополнять занятые.");
+        assertEquals(3, days.get(0).getFreeBlocks(), "В первый день должно быть 3 свободных промежутка.");
+        assertEquals(45, days.get(1).getBookedMinutes(), "Во второй день должно быть занято 45 минут.");
+        assertEquals(1, days.get(1).getFreeBlocks(), "Во второй день должен быть 1 свободный промежуток.");
+
+        List<CalendarUtilization> room = manager.getCalendarUtilization("Комната", now, now.plusDays(1),
+                ChronoUnit.DAYS);
+        assertEquals(60, room.getFirst().getBookedMinutes(), "Статистика должна считаться по ресурсу.");
+
+        manager.createTask(new RecurringTask("Стендап", "Описание", now.plusHours(10), Duration.ofMinutes(15),
+                "Стол", Duration.ofDays(1), 3));
+        manager.createTask(new RecurringTask("Обзор", "Описание", now.plusMinutes(90), Duration.ofMinutes(15),
+                "Комната", Duration.ofDays(7), 2));
+        List<CalendarUtilization> desk = manager.getCalendarUtilization("Стол", now, now.plusDays(4),
+                ChronoUnit.DAYS);
+        assertEquals(List.of(15L, 15L, 15L, 0L), desk.stream().map(CalendarUtilization::getBookedMinutes).toList(),
+                "Повторения должны учитываться в занятых минутах.");
+        assertEquals(List.of(2, 2, 2, 1), desk.stream().map(CalendarUtilization::getFreeBlocks).toList(),
+                "Повторение внутри дня должно делить свободный промежуток.");
+
+        room = manager.getCalendarUtilization("Комната", now, now.plusDays(1), ChronoUnit.DAYS);
+        assertEquals(75, room.getFirst().getBookedMinutes(), "Повторение должно добавляться к задачам ресурса.");
+        assertEquals(2, room.getFirst().getFreeBlocks(), "Смежное повторение не должно добавлять промежутков.");
+
+        List<CalendarUtilization> months = manager.getCalendarUtilization(null, now, now.plusMonths(1),
+                ChronoUnit.MONTHS);
+        assertEquals(now.withDayOfMonth(1).plusMonths(1), months.getFirst().getPeriodEnd(),
+                "Первый месяц должен заканчиваться началом следующего календарного месяца.");
+        assertEquals(105, months.stream().mapToLong(CalendarUtilization::getBookedMinutes).sum(),
+                "Сумма занятых минут по месяцам должна совпадать с суммой по задачам.");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.getCalendarUtilization(null, now, now.plusDays(1), ChronoUnit.HOURS));
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.getCalendarUtilization(null, now, now, ChronoUnit.DAYS));
+    }
+
+    @Test
+    public void validateIntervalsWorksCorrectly() {
+        Task task = manager.createTask(new Task("1", "Описание", now.plusMinutes(60), Duration.ofMinutes(60)));
+        manager.createTask(new Task("2", "Описание", now.plusMinutes(60), Duration.ofMinutes(60), "Комната"));
+        List<Task> before = new ArrayList<>(manager.getPrioritizedTasks());
+
+        List<IntervalConflicts> result = manager.validateIntervals(List.of(
+                new IntervalProposal(now.plusMinutes(90), Duration.ofMinutes(60)),
+                new IntervalProposal(now, Duration.ofMinutes(30)),
+                new IntervalProposal(now.plusMinutes(15), Duration.ofMinutes(15)),
+                new IntervalProposal(now.plusMinutes(120), Duration.ofMinutes(15), "Стол"),
+                new IntervalProposal(now.plusMinutes(30), Duration.ofMinutes(30))));
+
+        assertEquals(5, result.size(), "Результат должен содержать запись для каждого предложения.");
+        assertEquals(List.of(task.getId()), result.get(0).getTaskIds(), "Должно находиться пересечение с задачей.");
+        assertTrue(result.get(0).getProposalIndexes().isEmpty(),
+                "Пересечений с другими предложениями быть не должно.");
+        assertEquals(List.of(2), result.get(1).getProposalIndexes(), "Должно находиться пересечение предложений.");
+        assertEquals(List.of(1), result.get(2).getProposalIndexes(), "Пересечение должно быть взаимным.");
+        assertFalse(result.get(2).isSchedulable(), "Пересекающееся предложение не должно быть доступно.");
+        assertFalse(result.get(3).hasConflicts(), "Предложения разных ресурсов не должны пересекаться.");
+        assertTrue(result.get(3).isSchedulable(), "Свободное предложение должно быть доступно.");
+        assertFalse(result.get(4).hasConflicts(), "Смежные интервалы не должны пересекаться.");
+
+        Task inner = manager.createTask(new Task("3", "Описание", now.plusHours(5), Duration.ofMinutes(30)));
+        manager.createTask(new Task("4", "Описание", now.plusHours(4).plusMinutes(30), Duration.ZERO));
+        before = new ArrayList<>(manager.getPrioritizedTasks());
+        result = manager.validateIntervals(List.of(
+                new IntervalProposal(now.plusHours(4), Duration.ofHours(2)),
+                new IntervalProposal(now.plusHours(4).plusMinutes(30), Duration.ofMinutes(15))));
+
+        assertEquals(List.of(inner.getId()), result.get(0).getTaskIds(),
+                "Задача внутри предложения должна находиться после последнего предложения.");
+        assertTrue(result.get(0).hasConflicts(), "Пересечение должно отмечаться как конфликт.");
+        assertFalse(result.get(0).isSchedulable(), "Занятое предложение не должно быть доступно.");
+        assertEquals(List.of(0), result.get(1).getProposalIndexes(), "Должно находиться пересечение предложений.");
+        assertTrue(result.get(1).getTaskIds().isEmpty(), "Задачи нулевой длины не должны быть конфликтом.");
+
+        assertEquals(before, new ArrayList<>(manager.getPrioritizedTasks()), "Проверка не должна менять состояние менеджера.");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.validateIntervals(List.of(new IntervalProposal(null, Duration.ofMinutes(15)))));
+    }
+
+    @Test
+    public void recurringTasksWorkCorrectly() {
+        RecurringTask standup = (RecurringTask) manager.createTask(new RecurringTask("Стендап", "Описание",
+                now.plusHours(10), Duration.ofMinutes(15), Duration.ofDays(1), 200));
+
+        assertEquals(1, manager.getTasks().size(), "Повторяющаяся задача должна храниться одной записью.");
+        assertTrue(manager.getPrioritizedTasks().isEmpty(), "Повторения не должны добавляться в список приоритетов.");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.createTask(new Task("1", "Описание", now.plusDays(150).plusHours(10).plusMinutes(5),
+                        Duration.ofMinutes(15))));
+        assertTrue(ex.getMessage().contains("interval is occupied"),
+                "Задача не должна пересекаться с повторением.");
+        manager.createTask(new Task("2", "Описание", now.plusDays(150).plusHours(10).plusMinutes(15),
+                Duration.ofMinutes(15)));
+        manager.createTask(new Task("3", "Описание", now.plusHours(10), Duration.ofMinutes(15), "Комната"));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createTask(new RecurringTask("Обзор", "Описание",
+                now.plusDays(143).plusHours(10).plusMinutes(15), Duration.ofMinutes(30), Duration.ofDays(7), 4)));
+        assertThrows(IllegalArgumentException.class, () -> manager.createTask(new RecurringTask("Обзор", "Описание",
+                now.plusDays(3).plusHours(10), Duration.ofMinutes(30), Duration.ofDays(7), 4)));
+        manager.createTask(new RecurringTask("Обзор", "Описание", now.plusDays(3).plusHours(11),
+                Duration.ofMinutes(30), Duration.ofDays(7), 4));
+
+        assertEquals(Optional.of(now.plusHours(10).plusMinutes(15)),
+                manager.findEarliestFreeSlot(Duration.ofMinutes(30), now.plusHours(10)),
+                "Поиск свободного интервала должен пропускать повторения.");
+
+        List<Task> occurrences = manager.getRecurringOccurrences(now.plusDays(3), now.plusDays(5));
+        assertEquals(List.of(now.plusDays(3).plusHours(10), now.plusDays(3).plusHours(11),
+                        now.plusDays(4).plusHours(10)), occurrences.stream().map(Task::getStartTime).toList(),
+                "Повторения должны разворачиваться только внутри окна.");
+
+        manager.updateTask(new RecurringTask(standup.getId(), "Стендап", "Описание", Status.IN_PROGRESS,
+                now.plusHours(9), Duration.ofMinutes(15), null, Duration.ofDays(1), 200));
+        manager.createTask(new Task("4", "Описание", now.plusDays(20).plusHours(10), Duration.ofMinutes(15)));
+
+        manager.deleteTask(standup.getId());
+        manager.createTask(new Task("5", "Описание", now.plusDays(20).plusHours(9), Duration.ofMinutes(15)));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createTask(new RecurringTask("6", "Описание",
+                now, Duration.ofMinutes(30), Duration.ofMinutes(15), 4)));
+        assertThrows(IllegalArgumentException.class, () -> manager.createTask(new RecurringTask("7", "Описание",
+                now, Duration.ofMinutes(15), Duration.ofDays(1), 0)));
+    }
+
+    @Test
+    public void recurringTaskMustCheckEveryOccurrence() {
+        manager.createTask(new Task("1", "Описание", now.plusDays(9).plusHours(8), Duration.ofMinutes(15)));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createTask(new RecurringTask("2", "Описание",
+                now.plusHours(8), Duration.ofMinutes(15), Duration.ofDays(1), 10)),
+                "Последнее повторение не должно пересекаться с задачей.");
+        manager.createTask(new RecurringTask("3", "Описание", now.plusHours(8), Duration.ofMinutes(15),
+                Duration.ofDays(1), 9));
+        manager.createTask(new RecurringTask("4", "Описание", now.plusHours(8), Duration.ofMinutes(15), "Комната",
+                Duration.ofDays(1), 10));
+
+        assertEquals(3, manager.getTasks().size(), "Свободные повторения должны создаваться.");
+    }
+
+    @Test
+    public void prioritizedRangeQueriesWorkCorrectly() {
+        createSixTaskListForTimeTests(manager);
+        List<Task> all = new ArrayList<>(manager.getPrioritizedTasks());
+        LocalDateTime from = all.get(1).getStartTime();
+        LocalDateTime to = all.get(3).getStartTime();
+
+        NavigableSet<Task> range = manager.getPrioritized(from, to);
+        assertEquals(all.subList(1, 3), new ArrayList<>(range), "Диапазон должен включать начало и исключать конец.");
+        assertThrows(UnsupportedOperationException.class, () -> range.remove(all.get(1)),
+                "Диапазон должен быть доступен только для чтения.");
+
+        NavigableSet<Task> tail = manager.getPrioritized(from, null);
+        Task task = manager.createTask(new Task("Новая", "Описание", now.plusHours(5), Duration.ofMinutes(15)));
+        assertTrue(tail.contains(task), "Диапазон должен быть представлением индекса, а не копией.");
+
+        assertEquals(List.of(all.get(2), all.get(3)), manager.nextAfter(all.get(2).getStartTime(), 2),
+                "Должны возвращаться ближайшие задачи начиная с заданного времени.");
+        assertEquals(all.size() + 1, manager.getPrioritized(null, null).size(),
+                "Диапазон без границ должен включать все задачи.");
+        assertThrows(IllegalArgumentException.class, () -> manager.nextAfter(from, 0));
+        assertThrows(IllegalArgumentException.class, () -> manager.getPrioritized(to, from));
+    }
+
+    @Test
+    public void prioritizedViewCanBeIteratedDuringUpdates() {
+        createSixTaskListForTimeTests(manager);
+        List<Task> seen = new ArrayList<>();
+        int hour = 3;
+
+        for (Task task : manager.getPrioritized(null, null)) {
+            seen.add(task);
+            manager.createTask(new Task("Новая", "Описание", now.plusHours(hour++), Duration.ofMinutes(15)));
+            if (seen.size() == 10) {
+                break;
+            }
+        }
+
+        assertEquals(10, seen.size(), "Обход индекса должен продолжаться во время добавления задач.");
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getStartMinute() <= seen.get(i).getStartMinute(),
+                    "Задачи при обходе должны идти по возрастанию времени начала.");
+        }
+    }
+
+    @Test
+    public void epicProgressFollowsSubTaskChanges() {
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        SubTask first = manager.createSubTask(new SubTask("1", "Описание", epic.getId(),
+                now.plusHours(1), Duration.ofMinutes(30)));
+        SubTask second = manager.createSubTask(new SubTask("2", "Описание", epic.getId(),
+                now.plusHours(2), Duration.ofMinutes(45)));
+        manager.createSubTask(new SubTask("3", "Без времени", epic.getId()));
+        Epic emptyEpic = manager.createEpic(new Epic("Пустой эпик", "Описание"));
+
+        EpicProgress progress = manager.getEpicProgress(epic.getId(), now);
+        assertEquals(3, progress.getSubTaskCount(), "Должны учитываться все подзадачи эпика.");
+        assertEquals(0.0, progress.getPercentDone(), "Выполненных подзадач пока нет.");
+        assertEquals(75, progress.getRemainingMinutes(), "Должно учитываться время всех незавершённых подзадач.");
+        assertEquals(first, progress.getNextSubTask(), "Ближайшей должна быть первая подзадача.");
+
+        manager.updateSubTask(new SubTask(first.getId(), "1", "Описание", Status.DONE, epic.getId(),
+                now.plusHours(1), Duration.ofMinutes(30)));
+
+        progress = manager.getEpicProgress(epic.getId(), now);
+        assertEquals(100.0 / 3, progress.getPercentDone(), 1e-9, "Процент должен учитывать выполненную подзадачу.");
+        assertEquals(45, progress.getRemainingMinutes(), "Выполненная подзадача не должна учитываться в остатке.");
+        assertEquals(second, progress.getNextSubTask(), "Выполненная подзадача не может быть ближайшей.");
+        assertNull(manager.getEpicProgress(epic.getId(), now.plusHours(3)).getNextSubTask(),
+                "После начала последней подзадачи ближайшей быть не должно.");
+
+        manager.deleteSubTask(second.getId());
+
+        progress = manager.getEpicProgress(epic.getId(), now);
+        assertEquals(50.0, progress.getPercentDone(), "Процент должен пересчитываться после удаления.");
+        assertEquals(0, progress.getRemainingMinutes(), "У оставшихся подзадач нет запланированного времени.");
+        assertNull(progress.getNextSubTask(), "Запланированных незавершённых подзадач не осталось.");
+
+        List<EpicProgress> allProgress = manager.getEpicsProgress(now);
+        assertEquals(2, allProgress.size(), "Прогресс должен возвращаться для всех эпиков.");
+        assertEquals(0, manager.getEpicProgress(emptyEpic.getId(), now).getSubTaskCount(),
+                "У пустого эпика нет подзадач.");
+        assertThrows(NotFoundException.class, () -> manager.getEpicProgress(999, now));
+    }
+
+    @Test
+    public void nestedEpicProgressCountsDescendantSubTasks() {
+        Epic initiative = manager.createEpic(new Epic("Инициатива", "Описание"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание", initiative.getId()));
+        for (int i = 0; i < 4; i++) {
+            SubTask subTask = manager.createSubTask(new SubTask(String.valueOf(i), "Описание", epic.getId(),
+                    now.plusHours(i), Duration.ofMinutes(30)));
+            if (i < 3) {
+                manager.updateSubTask(new SubTask(subTask.getId(), String.valueOf(i), "Описание", Status.DONE,
+                        epic.getId(), now.plusHours(i), Duration.ofMinutes(30)));
+            }
+        }
+
+        EpicProgress childProgress = manager.getEpicProgress(epic.getId(), now);
+        EpicProgress rootProgress = manager.getEpicProgress(initiative.getId(), now);
+
+        assertEquals(75.0, childProgress.getPercentDone(), "Вложенный эпик должен быть выполнен на 75%.");
+        assertEquals(4, rootProgress.getSubTaskCount(), "Инициатива должна учитывать подзадачи вложенных эпиков.");
+        assertEquals(3, rootProgress.getDoneSubTasks(), "Инициатива должна учитывать завершённые подзадачи.");
+        assertEquals(childProgress.getPercentDone(), rootProgress.getPercentDone(),
+                "Прогресс инициативы должен совпадать с единственным вложенным эпиком.");
+        assertEquals(30, rootProgress.getRemainingMinutes(), "Оставшееся время должно совпадать.");
+
+        manager.deleteEpic(epic.getId());
+        assertEquals(0, manager.getEpicProgress(initiative.getId(), now).getSubTaskCount(),
+                "Удаление вложенного эпика должно убирать его подзадачи из прогресса.");
+    }
+
+    @Test
+    public void nestedEpicsRollUpStatusAndTime() {
+        Epic initiative = manager.createEpic(new Epic("Инициатива", "Описание"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание", initiative.getId()));
+        Epic sibling = manager.createEpic(new Epic("Соседний эпик", "Описание", initiative.getId()));
+        SubTask first = manager.createSubTask(new SubTask("1", "Описание", epic.getId(),
+                now.plusHours(1), Duration.ofMinutes(30)));
+        SubTask second = manager.createSubTask(new SubTask("2", "Описание", sibling.getId(),
+                now.plusHours(3), Duration.ofMinutes(15)));
+
+        assertEquals(initiative.getId(), manager.getEpicById(epic.getId()).getParentId(),
+                "Вложенный эпик должен хранить родителя.");
+        assertEquals(now.plusHours(1), manager.getEpicById(initiative.getId()).getStartTime(),
+                "Начало инициативы должно учитывать подзадачи вложенных эпиков.");
+        assertEquals(now.plusHours(3).plusMinutes(15), manager.getEpicById(initiative.getId()).getEndTime(),
+                "Конец инициативы должен учитывать подзадачи вложенных эпиков.");
+        assertEquals(Duration.ofMinutes(45), manager.getEpicById(initiative.getId()).getDuration(),
+                "Длительность инициативы должна суммировать подзадачи вложенных эпиков.");
+
+        manager.updateSubTask(new SubTask(first.getId(), "1", "Описание", Status.DONE, epic.getId(),
+                now.plusHours(1), Duration.ofMinutes(30)));
+        assertEquals(Status.DONE, manager.getEpicById(epic.getId()).getStatus(), "Эпик должен быть завершён.");
+        assertEquals(Status.IN_PROGRESS, manager.getEpicById(initiative.getId()).getStatus(),
+                "Статус должен подниматься к инициативе.");
+
+        manager.updateSubTask(new SubTask(second.getId(), "2", "Описание", Status.DONE, sibling.getId(),
+                now.plusHours(3), Duration.ofMinutes(15)));
+        assertEquals(Status.DONE, manager.getEpicById(initiative.getId()).getStatus(),
+                "Инициатива с завершёнными эпиками должна быть завершена.");
+        assertEquals(0, manager.getEpicProgress(initiative.getId(), now).getRemainingMinutes(),
+                "У завершённой инициативы не должно оставаться времени.");
+
+        manager.deleteEpic(sibling.getId());
+        assertFalse(manager.findAnyTaskById(second.getId()).isPresent(),
+                "Подзадачи удалённого эпика должны удаляться.");
+        assertEquals(now.plusHours(1).plusMinutes(30), manager.getEpicById(initiative.getId()).getEndTime(),
+                "Время инициативы должно пересчитываться после удаления эпика.");
+
+        manager.deleteEpic(initiative.getId());
+        assertTrue(manager.getEpics().isEmpty(), "Вложенные эпики должны удаляться вместе с родителем.");
+        assertTrue(manager.getSubTasks().isEmpty(), "Подзадачи вложенных эпиков должны удаляться.");
+    }
+
+    @Test
+    public void nestedEpicsCannotBeMovedOrAttachedToMissingParent() {
+        Epic initiative = manager.createEpic(new Epic("Инициатива", "Описание"));
+        Epic other = manager.createEpic(new Epic("Другая инициатива", "Описание"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание", initiative.getId()));
+
+        assertThrows(NotFoundException.class, () -> manager.createEpic(new Epic("Эпик", "Описание", 999)));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.updateEpic(new Epic(epic.getId(), "Эпик", "Описание", other.getId())));
+        assertTrue(ex.getMessage().contains("another parent"),
+                "Сообщение об ошибке должно содержать слово 'another parent'.");
+
+        manager.updateEpic(new Epic(epic.getId(), "Новое имя", "Описание"));
+        assertEquals(initiative.getId(), manager.getEpicById(epic.getId()).getParentId(),
+                "Обновление без родителя должно сохранять текущего родителя.");
+    }
+
+    @Test
+    public void autoScheduleWorksCorrectly() {
+        Task blocker = manager.createTask(new Task("Занято", "Описание", now.plusMinutes(30), Duration.ofMinutes(30)));
+        Task taskB = manager.createTask(new Task("Б", "Без времени"));
+        Task taskA = manager.createTask(new Task("А", "Без времени"));
+        Epic epic = manager.createEpic(new Epic("Эпик", "Описание"));
+        SubTask subTaskA = manager.createSubTask(new SubTask("Подзадача", "Без времени", epic.getId()));
+        SubTask subTaskB = manager.createSubTask(new SubTask("Подзадача", "Без времени", epic.getId()));
+
+        List<Task> scheduled = manager.autoSchedule(List.of(taskB.getId(), taskA.getId()), Duration.ofMinutes(30),
+                now, Comparator.comparing(Task::getName));
+
+        assertEquals(2, scheduled.size(), "Должны быть запланированы 2 задачи.");
+        assertEquals(now, manager.getTaskById(taskA.getId()).getStartTime(),
+                "Задача 'А' должна занять первый свободный интервал.");
+        assertEquals(now.plusMinutes(60), manager.getTaskById(taskB.getId()).getStartTime(),
+                "Задача 'Б' должна обойти занятый интервал.");
+
+        manager.autoScheduleEpic(epic.getId(), Duration.ofMinutes(15), now, null);
+
+        assertEquals(now.plusMinutes(90), manager.getSubTaskById(subTaskA.getId()).getStartTime(),
+                "Первая подзадача должна начинаться в 01:30.");
+        assertEquals(now.plusMinutes(105), manager.getSubTaskById(subTaskB.getId()).getStartTime(),
+                "Вторая подзадача должна начинаться в 01:45.");
+        assertEquals(now.plusMinutes(120), manager.getEpicById(epic.getId()).getEndTime(),
+                "Время эпика должно пересчитываться после планирования.");
+        assertEquals(5, manager.getPrioritizedTasks().size(), "В списке приоритетов должно быть 5 задач.");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.autoSchedule(List.of(blocker.getId()), Duration.ofMinutes(15), now, null));
+        assertTrue(ex.getMessage().contains("already has startTime"),
+                "Сообщение об ошибке должно содержать слово 'already has startTime'.");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.autoSchedule(List.of(epic.getId()), Duration.ofMinutes(15), now, null));
+        assertThrows(NotFoundException.class,
+                () -> manager.autoSchedule(List.of(999), Duration.ofMinutes(15), now, null));
+    }
+
+    @Test
+    public void resourceCalendarsArePartitioned() {
+        Task alice = manager.createTask(new Task("Алиса", "Описание", now, Duration.ofMinutes(60), "alice"));
+        Task bob = manager.createTask(new Task("Боб", "Описание", now, Duration.ofMinutes(60), "bob"));
+        Task shared = manager.createTask(new Task("Общая", "Описание", now, Duration.ofMinutes(60)));
+
+        assertEquals(3, manager.getPrioritizedTasks().size(),
+                "Задачи разных ресурсов с одинаковым временем должны попадать в список приоритетов.");
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> manager.createTask(new Task("Алиса 2", "Описание", now.plusMinutes(30),
+                        Duration.ofMinutes(15), "alice")));
+        assertTrue(ex.getMessage().contains("interval is occupied"),
+                "Сообщение об ошибке должно содержать слово 'interval is occupied'.");
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.createTask(new Task("Общая 2", "Описание", now.plusMinutes(30), Duration.ofMinutes(15))));
+
+        assertEquals(Optional.of(now.plusMinutes(60)), manager.findFreeSlots("alice", Duration.ofMinutes(15), now, 1)
+                .stream().findFirst(), "Свободное время ресурса должно искаться в его календаре.");
+        assertEquals(List.of(now), manager.findFreeSlots("carol", Duration.ofMinutes(15), now, 1),
+                "У нового ресурса весь календарь свободен.");
+
+        manager.updateTask(new Task(bob.getId(), "Боб", "Описание", Status.NEW, now.plusHours(2),
+                Duration.ofMinutes(60), "alice"));
+        assertEquals(Optional.of(now), manager.findFreeSlots("bob", Duration.ofMinutes(60), now, 1)
+                .stream().findFirst(), "После переноса задачи календарь старого ресурса должен освободиться.");
+        assertEquals("alice", manager.getTaskById(bob.getId()).getResource(), "Ресурс задачи должен обновиться.");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.createTask(new Task("Пустой ресурс", "Описание", null, null, " ")));
+        assertEquals(alice.getId() + 1, bob.getId());
+        assertEquals(bob.getId() + 1, shared.getId());
     }
 
     //ТЕСТЫ остальных методов.
@@ -829,6 +1284,98 @@ abstract class TaskManagerTest<T extends TaskManager> {
                 "Должно возвращаться Optional.empty() при неправильном id.");
     }
 
+    @Test
+    public void typedGettersOnlyReturnTasksOfTheirType() {
+        createSixTaskListForTests(manager);
+
+        assertEquals(TaskType.EPIC, manager.findAnyTaskById(epic1.getId()).orElseThrow().getType(),
+                "Тип задачи должен определяться по записи индекса.");
+        assertThrows(NotFoundException.class, () -> manager.getTaskById(epic1.getId()));
+        assertThrows(NotFoundException.class, () -> manager.getEpicById(subTask1.getId()));
+        assertThrows(NotFoundException.class, () -> manager.getSubTaskById(task1.getId()));
+        assertThrows(NotFoundException.class, () -> manager.deleteTask(subTask1.getId()));
+
+        manager.deleteAnyTaskById(subTask1.getId());
+        assertFalse(manager.getSubTasks().contains(subTask1), "Подзадача должна удаляться по общему id.");
+        assertFalse(manager.getEpicById(epic1.getId()).containsSubTaskId(subTask1.getId()),
+                "Подзадача должна удаляться из эпика.");
+    }
+
+    @Test
+    public void snapshotIsNotChangedByLaterWrites() {
+        createSixTaskListForTests(manager);
+        TaskSnapshot snapshot = manager.snapshot();
+
+        assertEquals(manager.getAllTasks(), snapshot.stream().toList(),
+                "Снимок должен содержать задачи в порядке getAllTasks().");
+        assertEquals(manager.getSubTasks(), snapshot.stream(TaskType.SUBTASK).toList(),
+                "Снимок должен фильтровать задачи по типу.");
+
+        manager.deleteTask(task1.getId());
+        manager.createTask(new Task("Новая задача", "Описание"));
+
+        assertEquals(6, snapshot.size(), "Снимок не должен видеть последующие изменения.");
+        assertEquals(task1, snapshot.findTask(task1.getId()).orElseThrow(),
+                "Удалённая позже задача должна оставаться в снимке.");
+        assertTrue(manager.snapshot().getVersion() > snapshot.getVersion(),
+                "Каждое изменение должно публиковать новую версию.");
+        assertEquals(manager.getAllTasks(), manager.snapshot().stream().toList(),
+                "Новый снимок должен совпадать с текущим состоянием.");
+    }
+
+    @Test
+    public void findTasksUsesIndexesUpdatedOnEveryWrite() {
+        createSixTaskListForTests(manager);
+
+        manager.updateSubTask(new SubTask(subTask2.getId(), subTask2.getName(), subTask2.getDescription(),
+                Status.IN_PROGRESS, epic1.getId(), subTask2.getStartTime(), subTask2.getDuration()));
+        manager.updateSubTask(new SubTask(subTask3.getId(), subTask3.getName(), subTask3.getDescription(),
+                Status.IN_PROGRESS, epic2.getId(), subTask3.getStartTime(), subTask3.getDuration()));
+
+        assertEquals(List.of(subTask2, subTask3),
+                manager.findTasks(new TaskCriteria(Status.IN_PROGRESS, TaskType.SUBTASK)),
+                "Должны находиться подзадачи в работе.");
+        assertEquals(List.of(epic1, epic2, subTask2, subTask3),
+                manager.findTasks(new TaskCriteria(Status.IN_PROGRESS, null)),
+                "Поиск по статусу должен возвращать задачи всех типов в порядке getAllTasks().");
+        assertEquals(manager.getSubTasks(), manager.findTasks(new TaskCriteria(null, TaskType.SUBTASK)),
+                "Поиск по типу должен совпадать с getSubTasks().");
+        assertEquals(manager.getAllTasks(), manager.findTasks(new TaskCriteria(null, null)),
+                "Пустой критерий должен возвращать все задачи.");
+
+        manager.deleteSubTask(subTask3.getId());
+
+        assertEquals(List.of(subTask2), manager.findTasks(new TaskCriteria(Status.IN_PROGRESS, TaskType.SUBTASK)),
+                "Удалённая подзадача должна исчезнуть из индекса.");
+        assertEquals(List.of(epic2), manager.findTasks(new TaskCriteria(Status.NEW, TaskType.EPIC)),
+                "Эпик без подзадач должен вернуться в статус NEW.");
+        assertTrue(manager.findTasks(new TaskCriteria(Status.DONE, null)).isEmpty(),
+                "Завершённых задач быть не должно.");
+        assertThrows(IllegalArgumentException.class, () -> manager.findTasks(null));
+    }
+
+    @Test
+    public void epicUpdatesReplaceValuesWithoutChangingPublishedOnes() {
+        createSixTaskListForTests(manager);
+        manager.getEpicById(epic1.getId());
+        manager.getTaskById(task1.getId());
+        List<Task> history = manager.getHistory();
+        TaskSnapshot snapshot = manager.snapshot();
+
+        manager.updateSubTask(new SubTask(subTask1.getId(), subTask1.getName(), subTask1.getDescription(),
+                Status.DONE, epic1.getId(), subTask1.getStartTime(), subTask1.getDuration()));
+        List<Task> updatedHistory = manager.getHistory();
+        Task updatedEpic = manager.snapshot().findTask(epic1.getId()).orElseThrow();
+
+        assertEquals(Status.NEW, epic1.getStatus(), "Ранее полученный эпик не должен изменяться.");
+        assertEquals(Status.NEW, snapshot.findTask(epic1.getId()).orElseThrow().getStatus(),
+                "Опубликованный снимок не должен видеть новый статус эпика.");
+        assertEquals(Status.IN_PROGRESS, updatedEpic.getStatus(), "Менеджер должен хранить новый эпик.");
+        assertSame(updatedEpic, updatedHistory.get(history.indexOf(epic1)),
+                "История должна заменить эпик на новую версию, сохранив его позицию.");
+        assertEquals(history, updatedHistory, "Порядок истории не должен меняться.");
+    }
+
     @Test
     public void getEpicSubTasksMustReturnCorrectSubTasksOrThrowException() {
         createSixTaskListForTests(manager);
@@ -0,0 +1,46 @@
+package com.yandex.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntArraySetTest {
+    @Test
+    public void valuesAreKeptSortedAndUnique() {
+        IntArraySet set = IntArraySet.empty()
+                .with(5)
+                .with(1)
+                .with(9)
+                .with(3)
+                .with(7);
+
+        assertSame(set, set.with(5), "Повторное значение не должно добавляться.");
+        assertArrayEquals(new int[]{1, 3, 5, 7, 9}, set.toArray(), "Значения должны храниться по возрастанию.");
+        assertTrue(set.contains(7), "Добавленное значение должно находиться.");
+
+        IntArraySet smaller = set.without(1);
+        assertSame(smaller, smaller.without(2), "Отсутствующее значение не должно удаляться.");
+        assertEquals(4, smaller.size(), "После удаления должно остаться 4 значения.");
+        assertEquals(24, smaller.stream().sum(), "Поток должен содержать все оставшиеся значения.");
+        assertTrue(set.contains(1), "Удаление не должно влиять на исходное множество.");
+    }
+
+    @Test
+    public void versionsSharingAnArrayDoNotSeeEachOtherAppends() {
+        IntArraySet base = IntArraySet.empty().with(1).with(2);
+        IntArraySet first = base.with(3);
+        IntArraySet second = base.with(4);
+        IntArraySet shorter = first.without(3).with(5);
+
+        assertArrayEquals(new int[]{1, 2}, base.toArray(), "Исходная версия не должна меняться.");
+        assertArrayEquals(new int[]{1, 2, 3}, first.toArray(), "Первая версия должна видеть только свою вставку.");
+        assertArrayEquals(new int[]{1, 2, 4}, second.toArray(), "Вторая версия должна видеть только свою вставку.");
+        assertArrayEquals(new int[]{1, 2, 5}, shorter.toArray(), "Вставка после удаления не должна портить копии.");
+        assertArrayEquals(new int[]{1, 2, 3}, first.toArray(), "Первая версия не должна меняться после вставок.");
+        assertFalse(base.contains(3), "Исходная версия не должна видеть вставку в общий массив.");
+    }
+}
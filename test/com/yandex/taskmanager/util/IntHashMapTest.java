@@ -0,0 +1,73 @@
+package com.yandex.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntHashMapTest {
+    @Test
+    public void collidingKeysSurviveRemoval() {
+        IntHashMap<String> map = new IntHashMap<>();
+
+        map.put(1, "1");
+        map.put(17, "17");
+        map.put(33, "33");
+        map.put(2, "2");
+        map.put(-15, "-15");
+
+        assertEquals("33", map.get(33), "Ключи с одинаковым слотом должны находиться.");
+        assertEquals("17", map.remove(17), "Удаление должно возвращать прежнее значение.");
+        assertEquals("33", map.get(33), "После удаления соседнего ключа цепочка не должна рваться.");
+        assertEquals("2", map.get(2), "Сдвинутые ключи должны находиться.");
+        assertEquals("-15", map.get(-15), "Отрицательные ключи должны поддерживаться.");
+        assertNull(map.remove(17), "Повторное удаление должно возвращать null.");
+        assertEquals(4, map.size(), "После удаления должно остаться 4 значения.");
+
+        assertEquals("1", map.put(1, "один"), "Замена должна возвращать прежнее значение.");
+        assertEquals("один", map.get(1), "Значение должно заменяться.");
+        assertThrows(IllegalArgumentException.class, () -> map.put(3, null));
+    }
+
+    @Test
+    public void denseKeysAreIteratedInAscendingOrder() {
+        IntHashMap<Integer> map = new IntHashMap<>();
+
+        for (int key = 40; key > 0; key--) {
+            map.put(key, key);
+        }
+        map.remove(20);
+
+        List<Integer> values = map.values();
+        assertEquals(39, values.size(), "Должны возвращаться все значения.");
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) < values.get(i), "Последовательные ключи должны идти по возрастанию.");
+        }
+    }
+
+    @Test
+    public void millionEntriesCanBeStoredAndRemoved() {
+        IntHashMap<String> map = new IntHashMap<>();
+        String value = "задача";
+
+        for (int key = 1; key <= 1_000_000; key++) {
+            map.put(key, value);
+        }
+        assertEquals(1_000_000, map.size(), "Все значения должны сохраниться.");
+
+        for (int key = 2; key <= 1_000_000; key += 2) {
+            map.remove(key);
+        }
+        assertEquals(500_000, map.size(), "Чётные ключи должны удалиться.");
+        assertTrue(map.containsKey(999_999), "Нечётные ключи должны остаться.");
+        assertFalse(map.containsKey(1_000_000), "Удалённые ключи не должны находиться.");
+
+        map.clear();
+        assertTrue(map.isEmpty(), "После очистки карта должна быть пустой.");
+    }
+}
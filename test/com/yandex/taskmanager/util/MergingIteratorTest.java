@@ -0,0 +1,25 @@
+package com.yandex.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MergingIteratorTest {
+    @Test
+    public void sortedSourcesAreMergedInOrder() {
+        List<Integer> merged = MergingIterator.merge(List.of(
+                List.of(1, 4, 9).iterator(),
+                List.<Integer>of().iterator(),
+                List.of(2, 3, 10, 11).iterator(),
+                List.of(5).iterator()), Comparator.<Integer>naturalOrder()).toList();
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 9, 10, 11), merged, "Слияние должно сохранять общий порядок.");
+        assertTrue(MergingIterator.merge(List.<Iterator<Integer>>of(), Comparator.<Integer>naturalOrder())
+                .toList().isEmpty(), "Слияние пустого списка должно быть пустым.");
+    }
+}
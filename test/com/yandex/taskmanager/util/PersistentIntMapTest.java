@@ -0,0 +1,71 @@
+package com.yandex.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentIntMapTest {
+    @Test
+    public void oldVersionsAreNotChangedByWrites() {
+        PersistentIntMap<String> first = PersistentIntMap.<String>empty().put(1, "1").put(40, "40");
+        PersistentIntMap<String> second = first.put(1, "один").put(5000, "5000").remove(40);
+
+        assertEquals("1", first.get(1), "Старая версия не должна видеть замену.");
+        assertEquals("40", first.get(40), "Старая версия не должна видеть удаление.");
+        assertNull(first.get(5000), "Старая версия не должна видеть новые ключи.");
+        assertEquals(2, first.size(), "Размер старой версии не должен меняться.");
+
+        assertEquals("один", second.get(1), "Новая версия должна видеть замену.");
+        assertNull(second.get(40), "Новая версия должна видеть удаление.");
+        assertEquals("5000", second.get(5000), "Дерево должно расти под большие ключи.");
+        assertEquals(2, second.size(), "Размер новой версии должен учитывать все изменения.");
+
+        assertSame(second, second.remove(40), "Удаление отсутствующего ключа не должно создавать версию.");
+        assertTrue(second.remove(1).remove(5000).isEmpty(), "После удаления всех ключей карта должна быть пустой.");
+        assertThrows(IllegalArgumentException.class, () -> second.put(-1, "-1"));
+        assertThrows(IllegalArgumentException.class, () -> second.put(2, null));
+    }
+
+    @Test
+    public void valuesAreIteratedInAscendingKeyOrder() {
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int key : new int[]{Integer.MAX_VALUE, 70_000, 3, 1_000, 33, 0}) {
+            map = map.put(key, key);
+        }
+
+        List<Integer> iterated = new ArrayList<>();
+        map.forEach(iterated::add);
+
+        List<Integer> expected = List.of(0, 3, 33, 1_000, 70_000, Integer.MAX_VALUE);
+        assertEquals(expected, iterated, "Итератор должен обходить ключи по возрастанию.");
+        assertEquals(expected, map.values(), "Значения должны идти по возрастанию ключей.");
+        assertEquals(expected, map.stream().toList(), "Поток должен идти по возрастанию ключей.");
+    }
+
+    @Test
+    public void manyKeysCanBeAddedAndRemoved() {
+        int count = 100_000;
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+
+        for (int key = 1; key <= count; key++) {
+            map = map.put(key, key);
+        }
+        PersistentIntMap<Integer> full = map;
+        for (int key = 1; key <= count; key += 2) {
+            map = map.remove(key);
+        }
+
+        assertEquals(count, full.size(), "Полная версия должна содержать все ключи.");
+        assertEquals(count / 2, map.size(), "Должна остаться половина ключей.");
+        assertEquals(count / 2, map.stream().filter(value -> value % 2 == 0).count(),
+                "Должны остаться только чётные ключи.");
+        assertEquals(777, full.get(777), "Полная версия должна сохранять удалённые позже ключи.");
+    }
+}
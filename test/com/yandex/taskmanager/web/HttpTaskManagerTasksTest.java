@@ -8,6 +8,7 @@ import com.yandex.taskmanager.model.Epic;
 import com.yandex.taskmanager.model.SubTask;
 import com.yandex.taskmanager.model.Status;
 import com.yandex.taskmanager.model.TaskType;
+import com.yandex.taskmanager.model.RecurringTask;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -16,12 +17,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.yandex.taskmanager.web.dto.TaskDto;
+import com.yandex.taskmanager.web.dto.ConflictDto;
+import com.yandex.taskmanager.web.dto.EpicProgressDto;
+import com.yandex.taskmanager.web.dto.TimeSlotDto;
+import com.yandex.taskmanager.web.dto.UtilizationDto;
+import com.yandex.taskmanager.web.json.GsonAdapters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.net.URI;
@@ -319,6 +326,30 @@ public class HttpTaskManagerTasksTest {
         checkTasksUnchangedCustom(subTasksFromResponse, epicsSubtasksInManager);
     }
 
+    @Test
+    public void getEpicProgressWorksCorrectly() throws IOException, InterruptedException {
+        createSevenTaskList(manager);
+        manager.updateSubTask(new SubTask(subTask2.getId(), subTask2.getName(), subTask2.getDescription(),
+                Status.DONE, 3, subTask2.getStartTime(), subTask2.getDuration()));
+        SubTask upcoming = manager.createSubTask(new SubTask("ЗАВТРА", "Описание", 3,
+                now.plusDays(1).plusHours(12), Duration.ofMinutes(30)));
+
+        HttpResponse<String> response = sendRequest("GET", "/epics/3/progress", "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        EpicProgressDto progress = gson.fromJson(response.body(), EpicProgressDto.class);
+        assertEquals(100.0 / 3, progress.getPercentDone(), 1e-9, "Треть подзадач эпика выполнена.");
+        assertEquals(45, progress.getRemainingMinutes(), "Остаток должен учитывать только незавершённые подзадачи.");
+        assertEquals(upcoming.getId(), progress.getNextSubTask().getId(), "Ближайшей должна быть предстоящая подзадача.");
+
+        response = sendRequest("GET", "/epics/progress", "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        EpicProgressDto[] allProgress = gson.fromJson(response.body(), EpicProgressDto[].class);
+        assertEquals(2, allProgress.length, "Прогресс должен возвращаться для всех эпиков.");
+
+        response = sendRequest("GET", "/epics/999/progress", "");
+        assertEquals(404, response.statusCode(), "Сервер должен возвращать код 404.");
+    }
+
     @Test
     public void createEpicWorksCorrectly() throws IOException, InterruptedException {
         epic1 = new Epic("НОВЫЙ ЭПИК", "Описание");
@@ -338,6 +369,25 @@ public class HttpTaskManagerTasksTest {
         checkTasksUnchangedCustom(epicsFromManager, List.of(returnedEpic));
     }
 
+    @Test
+    public void createNestedEpicWorksCorrectly() throws IOException, InterruptedException {
+        epic1 = manager.createEpic(new Epic("ИНИЦИАТИВА", "Описание"));
+        epic2 = manager.createEpic(new Epic("ДРУГАЯ ИНИЦИАТИВА", "Описание"));
+        String epicJson = gson.toJson(TaskDto.fromEpic(new Epic("ВЛОЖЕННЫЙ ЭПИК", "Описание", epic1.getId())));
+
+        HttpResponse<String> response = sendRequest("POST", "/epics", epicJson);
+        assertEquals(201, response.statusCode(), "Сервер должен возвращать код 201.");
+        TaskDto epicDto = gson.fromJson(response.body(), TaskDto.class);
+        assertEquals(epic1.getId(), epicDto.getEpicId(), "В ответе должен передаваться родительский эпик.");
+        assertEquals(epic1.getId(), manager.getEpicById(epicDto.getId()).getParentId(),
+                "Вложенный эпик должен сохраняться с родителем.");
+
+        String movedJson = gson.toJson(TaskDto.fromEpic(new Epic(epicDto.getId(), "ВЛОЖЕННЫЙ ЭПИК", "Описание",
+                epic2.getId())));
+        response = sendRequest("POST", "/epics/" + epicDto.getId(), movedJson);
+        assertEquals(406, response.statusCode(), "Перенос эпика в другой эпик должен отклоняться.");
+    }
+
     @Test
     public void updateEpicWorksCorrectly() throws IOException, InterruptedException {
         createThreeTaskListForTests(manager);
@@ -347,7 +397,7 @@ public class HttpTaskManagerTasksTest {
         HttpResponse<String> response = sendRequest("POST", "/epics/2", epicJson);
         assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
 
-        epic1.setEpicTime(subTask1.getStartTime(), subTask1.getDuration(), subTask1.getEndTime());
+        epic1 = epic1.withEpicTime(subTask1.getStartTime(), subTask1.getDuration(), subTask1.getEndTime());
         Task epicToCheck = manager.getEpicById(2);
 
         checkTasksUnchangedCustom(List.of(epicToCheck), List.of(epic1));
@@ -434,6 +484,48 @@ public class HttpTaskManagerTasksTest {
         checkTasksUnchangedCustom(prioritizedFromResponse, new ArrayList<>(manager.getPrioritizedTasks()));
     }
 
+    @Test
+    public void getPrioritizedRangeWorksCorrectly() throws IOException, InterruptedException {
+        createSevenTaskList(manager);
+        List<Task> all = new ArrayList<>(manager.getPrioritizedTasks());
+        manager.createTask(new RecurringTask("Стендап", "Описание", all.get(1).getStartTime().plusMinutes(9).minusDays(1),
+                Duration.ofMinutes(1), Duration.ofDays(1), 3));
+        String from = all.get(1).getStartTime().format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20");
+        String to = all.getLast().getStartTime().plusMinutes(1).format(GsonAdapters.DATE_TIME_FORMATTER)
+                .replace(" ", "%20");
+
+        HttpResponse<String> response = sendRequest("GET", "/prioritized?from=" + from + "&to=" + to + "&limit=2", "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        List<TaskDto> prioritizedDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+
+        assertEquals(2, prioritizedDto.size(), "Сервер должен учитывать ограничение количества задач.");
+        assertEquals(all.get(1).getStartTime(), prioritizedDto.get(0).getStartTime(),
+                "Первая задача должна начинаться в начале диапазона.");
+        assertEquals("Стендап", prioritizedDto.get(1).getName(),
+                "Повторения должны попадать в диапазон вместе с задачами.");
+
+        response = sendRequest("GET", "/prioritized?limit=" + (all.size() + 3), "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        prioritizedDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+
+        assertEquals(all.size() + 3, prioritizedDto.size(),
+                "Повторения должны попадать в выборку с одним только лимитом.");
+        assertEquals(3, prioritizedDto.stream().filter(dto -> dto.getName().equals("Стендап")).count(),
+                "Все повторения должны разворачиваться до лимита.");
+
+        response = sendRequest("GET", "/prioritized", "");
+        prioritizedDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+        assertEquals(all.size() + 3, prioritizedDto.size(), "Повторения должны попадать в полный список.");
+
+        response = sendRequest("GET", "/prioritized?from=" + from, "");
+        prioritizedDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+        assertEquals(all.size() + 1, prioritizedDto.size(),
+                "Повторения должны попадать в выборку с одной только нижней границей.");
+
+        response = sendRequest("GET", "/prioritized?limit=0", "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 при неверном лимите.");
+    }
+
     //ТЕСТЫ /all
     @Test
     public void getAllTasksWorksCorrectly() throws IOException, InterruptedException {
@@ -453,6 +545,31 @@ public class HttpTaskManagerTasksTest {
         checkTasksUnchangedCustom(allTasksFromResponse, manager.getAllTasks());
     }
 
+    @Test
+    public void getAllTasksFiltersByStatusAndType() throws IOException, InterruptedException {
+        createSevenTaskList(manager);
+        Task firstTask = manager.getTasks().get(0);
+        manager.updateTask(new Task(firstTask.getId(), firstTask.getName(), firstTask.getDescription(), Status.DONE,
+                firstTask.getStartTime(), firstTask.getDuration()));
+
+        HttpResponse<String> response = sendRequest("GET", "/all?status=done&type=TASK", "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        List<TaskDto> doneTasksDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+        assertEquals(List.of(firstTask.getId()), doneTasksDto.stream().map(TaskDto::getId).toList(),
+                "Должна возвращаться только завершённая задача.");
+
+        response = sendRequest("GET", "/all?type=epic", "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+        List<TaskDto> epicsDto = gson.fromJson(response.body(), TASK_DTO_LIST_TYPE);
+        assertEquals(manager.getEpics().stream().map(Task::getId).toList(),
+                epicsDto.stream().map(TaskDto::getId).toList(), "Должны возвращаться все эпики.");
+
+        response = sendRequest("GET", "/all?status=STARTED", "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400.");
+        assertTrue(response.body().contains("Invalid status"),
+                "Тело ответа должно содержать 'Invalid status'.");
+    }
+
     @Test
     public void findAnyTaskByIdWorksCorrectly() throws IOException, InterruptedException {
         createThreeTaskListForTests(manager);
@@ -586,8 +703,8 @@ public class HttpTaskManagerTasksTest {
         response = sendRequest("POST", "/all/2", epicJson);
         assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
 
-        epic1.setStatus(Status.DONE);
-        epic1.setEpicTime(subTask1.getStartTime(), subTask1.getDuration(), subTask1.getEndTime());
+        epic1 = epic1.withStatus(Status.DONE)
+                .withEpicTime(subTask1.getStartTime(), subTask1.getDuration(), subTask1.getEndTime());
 
         checkTasksUnchangedCustom(manager.getAllTasks(), List.of(task1, epic1, subTask1));
     }
@@ -599,6 +716,7 @@ public class HttpTaskManagerTasksTest {
         epic1 = manager.createEpic(new Epic("ЭПИК", "Описание"));
         subTask1 = manager.createSubTask(new SubTask("НОВАЯ ПОДЗАДАЧА", "ОПИСАНИЕ", 1,
                 now, Duration.ofMinutes(15)));
+        epic1 = manager.getEpicById(epic1.getId());
         subTask2 = new SubTask("ПОДЗАДАЧА С ТЕМ ЖЕ ВРЕМЕНЕМ", "ДРУГОЕ ОПИСАНИЕ", 1,
                 now, Duration.ofMinutes(15));
         task1 = manager.createTask(new Task("НОВАЯ ЗАДАЧА", "ОПИСАНИЕ ЗАДАЧИ",
@@ -623,6 +741,104 @@ public class HttpTaskManagerTasksTest {
         checkTasksUnchangedCustom(manager.getAllTasks(), List.of(task1, epic1, subTask1));
     }
 
+    //ТЕСТЫ /calendar
+    @Test
+    public void getFreeSlotsWorksCorrectly() throws IOException, InterruptedException {
+        createThreeTaskListForTests(manager);
+
+        HttpResponse<String> response = sendRequest("GET", "/calendar/free?duration=PT45M&limit=2&after="
+                + now.format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20"), "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+
+        List<TimeSlotDto> slots = gson.fromJson(response.body(), new TypeToken<List<TimeSlotDto>>() {
+        }.getType());
+        assertEquals(2, slots.size(), "Сервер должен вернуть 2 свободных интервала.");
+        assertEquals(now.plusMinutes(90), slots.get(0).getStartTime(), "Первый интервал должен начинаться в 01:30.");
+        assertEquals(now.plusMinutes(135), slots.get(0).getEndTime(), "Первый интервал должен заканчиваться в 02:15.");
+        assertEquals(now.plusMinutes(135), slots.get(1).getStartTime(), "Второй интервал должен начинаться в 02:15.");
+
+        response = sendRequest("GET", "/calendar/free?duration=45", "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 при неверной длительности.");
+
+        response = sendRequest("GET", "/calendar/free", "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 без длительности.");
+    }
+
+    @Test
+    public void getUtilizationWorksCorrectly() throws IOException, InterruptedException {
+        createThreeTaskListForTests(manager);
+        String from = now.format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20");
+        String to = now.plusDays(1).format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20");
+
+        HttpResponse<String> response = sendRequest("GET", "/calendar/utilization?period=day&from=" + from
+                + "&to=" + to, "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+
+        List<UtilizationDto> periods = gson.fromJson(response.body(), new TypeToken<List<UtilizationDto>>() {
+        }.getType());
+        assertEquals(1, periods.size(), "Сервер должен вернуть статистику за 1 день.");
+        assertEquals(24 * 60, periods.getFirst().getBookedMinutes() + periods.getFirst().getFreeMinutes(),
+                "Сумма занятых и свободных минут должна равняться длине дня.");
+        assertTrue(periods.getFirst().getBookedMinutes() > 0, "В дне с задачами должны быть занятые минуты.");
+
+        response = sendRequest("GET", "/calendar/utilization?period=year&from=" + from + "&to=" + to, "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 при неверном периоде.");
+
+        response = sendRequest("GET", "/calendar/utilization?from=" + from, "");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 без конца периода.");
+    }
+
+    @Test
+    public void validateIntervalsWorksCorrectly() throws IOException, InterruptedException {
+        createThreeTaskListForTests(manager);
+        List<Task> before = manager.getAllTasks();
+        Task task = manager.getPrioritizedTasks().first();
+        String startTime = task.getStartTime().format(GsonAdapters.DATE_TIME_FORMATTER);
+        String freeTime = now.plusYears(1).minusDays(1).format(GsonAdapters.DATE_TIME_FORMATTER);
+        String body = "[{\"startTime\":\"" + startTime + "\",\"duration\":\"PT15M\"},"
+                + "{\"startTime\":\"" + freeTime + "\",\"duration\":\"PT15M\"}]";
+
+        HttpResponse<String> response = sendRequest("POST", "/calendar/validate", body);
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+
+        List<ConflictDto> conflicts = gson.fromJson(response.body(), new TypeToken<List<ConflictDto>>() {
+        }.getType());
+        assertEquals(2, conflicts.size(), "Сервер должен вернуть результат для каждого предложения.");
+        assertEquals(List.of(task.getId()), conflicts.get(0).getTaskIds(), "Должно находиться пересечение с задачей.");
+        assertFalse(conflicts.get(0).isSchedulable(), "Занятый интервал не должен быть доступен.");
+        assertTrue(conflicts.get(1).isSchedulable(), "Свободный интервал должен быть доступен.");
+        checkTasksUnchangedCustom(manager.getAllTasks(), before);
+
+        response = sendRequest("POST", "/calendar/validate", "[{\"duration\":\"PT15M\"}]");
+        assertEquals(400, response.statusCode(), "Сервер должен возвращать код 400 без времени начала.");
+    }
+
+    @Test
+    public void recurringTaskOccurrencesWorkCorrectly() throws IOException, InterruptedException {
+        Task standup = new RecurringTask("Стендап", "Описание", now.plusHours(10), Duration.ofMinutes(15),
+                Duration.ofDays(1), 100);
+
+        HttpResponse<String> response = sendRequest("POST", "/tasks", gson.toJson(TaskDto.fromTask(standup)));
+        assertEquals(201, response.statusCode(), "Сервер должен возвращать код 201.");
+        TaskDto created = gson.fromJson(response.body(), TaskDto.class);
+        assertEquals(100, created.getRepeatCount(), "Количество повторений должно возвращаться в ответе.");
+
+        String from = now.plusDays(5).format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20");
+        String to = now.plusDays(8).format(GsonAdapters.DATE_TIME_FORMATTER).replace(" ", "%20");
+        response = sendRequest("GET", "/calendar/occurrences?from=" + from + "&to=" + to, "");
+        assertEquals(200, response.statusCode(), "Сервер должен возвращать код 200.");
+
+        List<TaskDto> occurrences = gson.fromJson(response.body(), new TypeToken<List<TaskDto>>() {
+        }.getType());
+        assertEquals(3, occurrences.size(), "В окне из трёх дней должно быть 3 повторения.");
+        assertEquals(now.plusDays(5).plusHours(10), occurrences.getFirst().getStartTime(),
+                "Первое повторение должно начинаться на пятый день.");
+
+        Task overlapping = new Task("Задача", "Описание", now.plusDays(6).plusHours(10), Duration.ofMinutes(15));
+        response = sendRequest("POST", "/tasks", gson.toJson(TaskDto.fromTask(overlapping)));
+        assertEquals(406, response.statusCode(), "Сервер должен возвращать код 406 при пересечении с повторением.");
+    }
+
     //ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ
     private HttpResponse<String> sendRequest(String method, String path, String body) throws IOException, InterruptedException {
         URI url = URI.create("http://localhost:8080" + path);